@@ -0,0 +1,77 @@
+#!/usr/bin/env bash
+# Runs a local Selenium standalone server that keeps browser sessions warm between test runs.
+# Point the tests at it with -Ddriver.remote.url=http://localhost:4444, or set driver.remote.url in configuration.properties.
+# Sessions idle for longer than SELENIUM_SESSION_TIMEOUT seconds are ended by the server.
+#
+# Usage: ./browser-daemon.sh start|stop|status
+# Set SELENIUM_VERSION, SELENIUM_PORT, SELENIUM_MAX_SESSIONS or SELENIUM_SESSION_TIMEOUT to change the defaults.
+# SELENIUM_SHA256 must be the SHA-256 of the server jar published with the Selenium release; the jar is checked against it
+# before every start and is never run unverified.
+set -euo pipefail
+
+version=${SELENIUM_VERSION:-4.23.0}
+port=${SELENIUM_PORT:-4444}
+max_sessions=${SELENIUM_MAX_SESSIONS:-4}
+session_timeout=${SELENIUM_SESSION_TIMEOUT:-1800}
+sha256=${SELENIUM_SHA256:-}
+dir=.browser-daemon
+jar="$dir/selenium-server-$version.jar"
+pid_file="$dir/selenium.pid"
+
+running() {
+    [ -f "$pid_file" ] && kill -0 "$(cat "$pid_file")" 2>/dev/null
+}
+
+case "${1:-status}" in
+    start)
+        if running; then
+            echo "Selenium server already running (pid $(cat "$pid_file")) on http://localhost:$port"
+            exit 0
+        fi
+        if [ -z "$sha256" ]; then
+            echo "Set SELENIUM_SHA256 to the SHA-256 of selenium-server-$version.jar from https://github.com/SeleniumHQ/selenium/releases/tag/selenium-$version"
+            exit 1
+        fi
+        mkdir -p "$dir"
+        if [ ! -f "$jar" ]; then
+            curl -fsSL -o "$jar.part" "https://github.com/SeleniumHQ/selenium/releases/download/selenium-$version/selenium-server-$version.jar"
+            mv "$jar.part" "$jar"
+        fi
+        if ! echo "$sha256  $jar" | sha256sum -c --status 2>/dev/null; then
+            echo "$jar does not match SELENIUM_SHA256, removing it"
+            rm -f "$jar"
+            exit 1
+        fi
+        nohup java -jar "$jar" standalone --port "$port" --max-sessions "$max_sessions" --override-max-sessions true \
+            --session-timeout "$session_timeout" > "$dir/selenium.log" 2>&1 &
+        echo $! > "$pid_file"
+        for _ in $(seq 60); do
+            if curl -fs "http://localhost:$port/status" | grep -q '"ready": *true'; then
+                echo "Selenium server running (pid $(cat "$pid_file")) on http://localhost:$port"
+                exit 0
+            fi
+            sleep 1
+        done
+        echo "Selenium server did not become ready, see $dir/selenium.log"
+        exit 1
+        ;;
+    stop)
+        if running; then
+            kill "$(cat "$pid_file")"
+        fi
+        # Parked sessions end with the server.
+        rm -f "$pid_file" "$dir/sessions.properties"
+        ;;
+    status)
+        if running; then
+            echo "Selenium server running (pid $(cat "$pid_file")) on http://localhost:$port"
+        else
+            echo "Selenium server not running"
+            exit 1
+        fi
+        ;;
+    *)
+        echo "Usage: $0 start|stop|status"
+        exit 2
+        ;;
+esac
@@ -0,0 +1,43 @@
+#!/usr/bin/env bash
+# Runs the test suite as duration-balanced shards, each in its own JVM, in parallel on this machine.
+# On CI, run one shard per machine instead: mvn test -Dtest=... -Dshard.index=<i> -Dshard.total=<n> -Dshard.reports=<dir>,
+# giving every machine the same copy of the earlier runs' surefire reports in <dir>.
+# Shards are balanced by the durations in .shard-history, which this script replaces with the new reports once every
+# shard has finished, so all shards of a run plan from the same history.
+#
+# Usage: ./run-shards.sh [shard count] [extra maven arguments...]
+# Set SHARD_TESTS to change which test classes are sharded.
+set -euo pipefail
+
+total=${1:-4}
+shift || true
+tests=${SHARD_TESTS:-SdetAssessment,WeatherForecastApiTests}
+
+mvn -B -q test-compile
+
+# Shards of one run share a report run id, so each shard's report merges only this run's Cucumber result logs.
+run_id="shards-$(date +%s)"
+pids=()
+for ((index = 0; index < total; index++)); do
+    mvn -B surefire:test -Dtest="$tests" -Dshard.index="$index" -Dshard.total="$total" -Dreport.runId="$run_id" \
+        -Dsurefire.reportsDirectory="target/surefire-reports-shard-$index" "$@" > "target/shard-$index.log" 2>&1 &
+    pids+=($!)
+done
+
+status=0
+for index in "${!pids[@]}"; do
+    if ! wait "${pids[$index]}"; then
+        echo "Shard $index failed, see target/shard-$index.log"
+        status=1
+    fi
+    grep -E "^Shard [0-9]+ of|Tests run:.*Fail" "target/shard-$index.log" | tail -2 || true
+done
+
+rm -rf .shard-history
+for ((index = 0; index < total; index++)); do
+    if [ -d "target/surefire-reports-shard-$index" ]; then
+        mkdir -p ".shard-history/shard-$index"
+        cp target/surefire-reports-shard-"$index"/TEST-*.xml ".shard-history/shard-$index/" 2>/dev/null || true
+    fi
+done
+exit $status
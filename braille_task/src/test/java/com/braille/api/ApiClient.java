@@ -0,0 +1,98 @@
+package com.braille.api;
+
+import com.braille.utility.ConfigurationReader;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.restassured.RestAssured;
+import io.restassured.builder.RequestSpecBuilder;
+import io.restassured.config.HttpClientConfig;
+import io.restassured.config.ObjectMapperConfig;
+import io.restassured.config.RestAssuredConfig;
+import io.restassured.path.json.mapper.factory.Jackson2ObjectMapperFactory;
+import io.restassured.specification.RequestSpecification;
+import org.apache.http.entity.ByteArrayEntity;
+import org.apache.http.impl.client.DefaultHttpClient;
+import org.apache.http.impl.conn.PoolingClientConnectionManager;
+import org.apache.http.params.BasicHttpParams;
+import org.apache.http.params.HttpConnectionParams;
+import org.apache.http.params.HttpParams;
+
+/**
+ * A thread-safe entry point for API calls that replaces the global {@code RestAssured.baseURI} and static
+ * {@code RestAssured.get/post} calls. Every request starts from one shared, immutable request specification
+ * that carries the base URI, the shared {@link #OBJECT_MAPPER} and a single HTTP client with a pool of
+ * persistent keep-alive connections, so parallel tests don't pay connection setup on every call.
+ * <p>
+ * Pool and timeout settings are read from {@code api.pool.maxConnections}, {@code api.connectTimeoutMillis},
+ * {@code api.socketTimeoutMillis} and {@code api.keepAliveMillis}.
+ */
+public class ApiClient implements AutoCloseable {
+    /**
+     * The Jackson mapper used to read and write {@link WeatherForecast} JSON everywhere in the suite.
+     */
+    public static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+    @SuppressWarnings("deprecation") // See the constructor.
+    private final PoolingClientConnectionManager connectionManager;
+    private final RequestSpecification specification;
+
+    /**
+     * Builds the pooled client with the HttpClient 4 connection manager and parameters. Their replacements can't be
+     * used: REST Assured's {@link HttpClientConfig} only accepts an {@code AbstractHttpClient}, which is deprecated
+     * together with them.
+     */
+    @SuppressWarnings("deprecation")
+    public ApiClient(String baseUri) {
+        int maxConnections = ConfigurationReader.getIntProperty("api.pool.maxConnections", 64);
+        long keepAliveMillis = ConfigurationReader.getIntProperty("api.keepAliveMillis", 30_000);
+
+        connectionManager = new PoolingClientConnectionManager();
+        connectionManager.setMaxTotal(maxConnections);
+        connectionManager.setDefaultMaxPerRoute(maxConnections);
+
+        HttpParams params = new BasicHttpParams();
+        HttpConnectionParams.setConnectionTimeout(params, ConfigurationReader.getIntProperty("api.connectTimeoutMillis", 5_000));
+        HttpConnectionParams.setSoTimeout(params, ConfigurationReader.getIntProperty("api.socketTimeoutMillis", 30_000));
+        HttpConnectionParams.setTcpNoDelay(params, true);
+        DefaultHttpClient httpClient = new DefaultHttpClient(connectionManager, params);
+        httpClient.setKeepAliveStrategy((response, context) -> keepAliveMillis);
+        // REST Assured never reads a zero-length body, which would keep its connection leased forever.
+        // A non-streaming empty entity lets the client hand the connection straight back to the pool.
+        httpClient.addResponseInterceptor((response, context) -> {
+            if (response.getEntity() != null && response.getEntity().getContentLength() == 0) {
+                ByteArrayEntity empty = new ByteArrayEntity(new byte[0]);
+                empty.setContentType(response.getEntity().getContentType());
+                response.setEntity(empty);
+            }
+        });
+
+        RestAssuredConfig config = RestAssuredConfig.config()
+                .httpClient(HttpClientConfig.httpClientConfig()
+                        .httpClientFactory(() -> httpClient)
+                        .reuseHttpClientInstance())
+                .objectMapperConfig(ObjectMapperConfig.objectMapperConfig()
+                        .jackson2ObjectMapperFactory((Jackson2ObjectMapperFactory) (type, charset) -> OBJECT_MAPPER));
+
+        specification = new RequestSpecBuilder()
+                .setBaseUri(baseUri)
+                .setConfig(config)
+                .build();
+    }
+
+    /**
+     * Starts a new request from the shared specification. Each call returns an independent request,
+     * so it is safe to use from many threads at once.
+     *
+     * @return A request specification to add the request details to.
+     */
+    public RequestSpecification request() {
+        return RestAssured.given().spec(specification);
+    }
+
+    /**
+     * Closes all pooled connections.
+     */
+    @Override
+    public void close() {
+        connectionManager.shutdown();
+    }
+}
@@ -0,0 +1,141 @@
+package com.braille.api;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntSupplier;
+
+/**
+ * Drives a single API call repeatedly and records latency and response status of every call in a {@link LoadResult}.
+ * <p>
+ * In the closed model ({@code requestsPerSecond == 0}) a fixed number of workers send requests back to back.
+ * In the open model requests are started at a fixed rate regardless of how long earlier ones take, and latency is
+ * measured from the moment each request was due, so a stalled service shows up in the percentiles instead of
+ * silently lowering the request rate.
+ * <p>
+ * Requests still queued or running {@link #DRAIN_TIMEOUT} after the load duration are cancelled and counted as
+ * {@link LoadResult#getAbandonedCount() abandoned}; nothing is recorded into the result once it is returned.
+ */
+public class LoadGenerator {
+    private static final Duration DRAIN_TIMEOUT = Duration.ofSeconds(60);
+
+    private final int concurrency;
+    private final Duration duration;
+    private final int requestsPerSecond;
+
+    /**
+     * @param concurrency       The number of worker threads, i.e. the maximum number of requests in flight.
+     * @param duration          How long to generate load for each scenario.
+     * @param requestsPerSecond The target rate for the open model, or 0 for the closed model.
+     * @throws IllegalArgumentException If there are no workers or the rate is negative or above one per nanosecond.
+     */
+    public LoadGenerator(int concurrency, Duration duration, int requestsPerSecond) {
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("concurrency must be at least 1, but was: " + concurrency);
+        }
+        if (requestsPerSecond < 0 || requestsPerSecond > TimeUnit.SECONDS.toNanos(1)) {
+            throw new IllegalArgumentException("requestsPerSecond must be between 0 and " + TimeUnit.SECONDS.toNanos(1)
+                    + ", but was: " + requestsPerSecond);
+        }
+        this.concurrency = concurrency;
+        this.duration = duration;
+        this.requestsPerSecond = requestsPerSecond;
+    }
+
+    /**
+     * Runs the given request under load.
+     *
+     * @param scenario       The scenario name used in reports.
+     * @param request        Sends one request and returns its HTTP status code.
+     * @param expectedStatus The status code a correct response has.
+     * @return The recorded latencies and status counts, and how many requests were abandoned.
+     */
+    public LoadResult run(String scenario, IntSupplier request, int expectedStatus) {
+        LoadResult result = new LoadResult(scenario, expectedStatus);
+        AtomicInteger inFlight = new AtomicInteger();
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        long start = System.nanoTime();
+        long abandoned = 0;
+        try {
+            if (requestsPerSecond > 0) {
+                runOpenModel(workers, request, result, inFlight, start);
+            } else {
+                runClosedModel(workers, request, result, inFlight, start);
+            }
+            workers.shutdown();
+            long drainNanos = start + duration.toNanos() + DRAIN_TIMEOUT.toNanos() - System.nanoTime();
+            if (!workers.awaitTermination(drainNanos, TimeUnit.NANOSECONDS)) {
+                abandoned = cancel(workers, inFlight);
+            }
+        } catch (InterruptedException e) {
+            abandoned = cancel(workers, inFlight);
+            Thread.currentThread().interrupt();
+        }
+        result.finish(Duration.ofNanos(System.nanoTime() - start), abandoned);
+        return result;
+    }
+
+    private void runClosedModel(ExecutorService workers, IntSupplier request, LoadResult result, AtomicInteger inFlight,
+                                long start) {
+        long deadline = start + duration.toNanos();
+        for (int i = 0; i < concurrency; i++) {
+            workers.execute(() -> {
+                while (System.nanoTime() < deadline && !Thread.currentThread().isInterrupted()) {
+                    send(request, result, inFlight, System.nanoTime());
+                }
+            });
+        }
+    }
+
+    private void runOpenModel(ExecutorService workers, IntSupplier request, LoadResult result, AtomicInteger inFlight,
+                              long start) throws InterruptedException {
+        long periodNanos = TimeUnit.SECONDS.toNanos(1) / requestsPerSecond;
+        AtomicLong sequence = new AtomicLong();
+        ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor();
+        ScheduledFuture<?> ticks = scheduler.scheduleAtFixedRate(() -> {
+            long intendedStart = start + sequence.getAndIncrement() * periodNanos;
+            workers.execute(() -> send(request, result, inFlight, intendedStart));
+        }, 0, periodNanos, TimeUnit.NANOSECONDS);
+        try {
+            TimeUnit.NANOSECONDS.sleep(duration.toNanos());
+        } finally {
+            ticks.cancel(false);
+            scheduler.shutdownNow();
+        }
+    }
+
+    /**
+     * Interrupts the running requests and drops the queued ones.
+     *
+     * @return The number of requests that had not completed.
+     */
+    private static long cancel(ExecutorService workers, AtomicInteger inFlight) {
+        return workers.shutdownNow().size() + inFlight.get();
+    }
+
+    private static void send(IntSupplier request, LoadResult result, AtomicInteger inFlight, long startNanos) {
+        inFlight.incrementAndGet();
+        try {
+            int status;
+            try {
+                status = request.getAsInt();
+            } catch (Exception e) {
+                // Includes checked I/O exceptions that REST Assured rethrows undeclared.
+                result.recordError(microsSince(startNanos));
+                return;
+            }
+            result.recordResponse(status, microsSince(startNanos));
+        } finally {
+            inFlight.decrementAndGet();
+        }
+    }
+
+    private static long microsSince(long startNanos) {
+        return TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - startNanos);
+    }
+}
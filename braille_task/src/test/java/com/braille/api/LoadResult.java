@@ -0,0 +1,137 @@
+package com.braille.api;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * The outcome of driving one API scenario under load: a latency histogram and a count of responses per status code.
+ * Once {@link LoadGenerator} has finished it, responses of abandoned requests that still arrive are ignored.
+ */
+public class LoadResult {
+    private final String scenario;
+    private final int expectedStatus;
+    private final LatencyHistogram latency = new LatencyHistogram();
+    private final Map<Integer, AtomicLong> statusCounts = new ConcurrentHashMap<>();
+    private final AtomicLong errors = new AtomicLong();
+    private final ReadWriteLock recording = new ReentrantReadWriteLock();
+    private boolean finished;
+    private volatile Duration elapsed = Duration.ZERO;
+    private volatile long abandoned;
+
+    public LoadResult(String scenario, int expectedStatus) {
+        this.scenario = scenario;
+        this.expectedStatus = expectedStatus;
+    }
+
+    void recordResponse(int status, long micros) {
+        recording.readLock().lock();
+        try {
+            if (!finished) {
+                latency.record(micros);
+                statusCounts.computeIfAbsent(status, code -> new AtomicLong()).incrementAndGet();
+            }
+        } finally {
+            recording.readLock().unlock();
+        }
+    }
+
+    void recordError(long micros) {
+        recording.readLock().lock();
+        try {
+            if (!finished) {
+                latency.record(micros);
+                errors.incrementAndGet();
+            }
+        } finally {
+            recording.readLock().unlock();
+        }
+    }
+
+    /**
+     * Stops recording, waiting for recordings in progress.
+     */
+    void finish(Duration elapsed, long abandoned) {
+        recording.writeLock().lock();
+        try {
+            finished = true;
+            this.elapsed = elapsed;
+            this.abandoned = abandoned;
+        } finally {
+            recording.writeLock().unlock();
+        }
+    }
+
+    public String getScenario() {
+        return scenario;
+    }
+
+    public LatencyHistogram getLatency() {
+        return latency;
+    }
+
+    public long getRequestCount() {
+        return latency.getCount();
+    }
+
+    /**
+     * @return The number of responses whose status code was not the one the scenario expects.
+     */
+    public long getUnexpectedStatusCount() {
+        long expected = statusCounts.getOrDefault(expectedStatus, new AtomicLong()).get();
+        return latency.getCount() - errors.get() - expected;
+    }
+
+    /**
+     * @return The number of requests that failed without a response, e.g. connection errors or timeouts.
+     */
+    public long getErrorCount() {
+        return errors.get();
+    }
+
+    /**
+     * @return The number of requests still queued or running when the load generator gave up waiting for them.
+     */
+    public long getAbandonedCount() {
+        return abandoned;
+    }
+
+    public Map<Integer, Long> getStatusCounts() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statusCounts.forEach((status, count) -> counts.put(status, count.get()));
+        return counts;
+    }
+
+    public double getThroughput() {
+        double seconds = elapsed.toNanos() / 1e9;
+        return seconds == 0 ? 0 : latency.getCount() / seconds;
+    }
+
+    public String summary() {
+        return String.format("%s: %d requests in %.1f s, %.1f req/s, p50=%.2f ms, p95=%.2f ms, p99=%.2f ms, max=%.2f ms, "
+                        + "statuses=%s, unexpected=%d, errors=%d, abandoned=%d",
+                scenario, getRequestCount(), elapsed.toMillis() / 1000.0, getThroughput(),
+                millis(latency.getPercentileMicros(50)), millis(latency.getPercentileMicros(95)),
+                millis(latency.getPercentileMicros(99)), millis(latency.getMaxMicros()),
+                getStatusCounts(), getUnexpectedStatusCount(), getErrorCount(), getAbandonedCount());
+    }
+
+    /**
+     * @return One CSV line: scenario, requests, throughput, p50, p95, p99, max (ms), unexpected statuses, errors.
+     */
+    public String toCsv() {
+        return String.format("%s,%d,%.1f,%.3f,%.3f,%.3f,%.3f,%d,%d",
+                scenario, getRequestCount(), getThroughput(),
+                millis(latency.getPercentileMicros(50)), millis(latency.getPercentileMicros(95)),
+                millis(latency.getPercentileMicros(99)), millis(latency.getMaxMicros()),
+                getUnexpectedStatusCount(), getErrorCount());
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+}
@@ -21,4 +21,14 @@ public class WeatherForecast {
         this.temperatureC = temperatureC;
         this.summary = summary;
     }
+
+    /**
+     * Converts a Celsius temperature to Fahrenheit the same way the weather forecast service does.
+     *
+     * @param temperatureC The temperature in degrees Celsius.
+     * @return The temperature in degrees Fahrenheit.
+     */
+    public static int toFahrenheit(int temperatureC) {
+        return 32 + (int) (temperatureC / 0.5556);
+    }
 }
\ No newline at end of file
@@ -0,0 +1,625 @@
+package com.braille.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Reads and writes weather forecast JSON directly from and to bytes, without Jackson's reflection-based binding.
+ * <p>
+ * The {@link Visitor} API hands each forecast over as primitives: temperatures as {@code int}, the date packed
+ * into an {@code int} and the summary as one of the shared constants for the known summaries. Reading a forecast
+ * with a known summary that way allocates nothing. Dates are checked for the {@code YYYY-MM-DD} shape digit
+ * by digit instead of with a regular expression. Missing or {@code null} numbers are reported as {@link #MISSING};
+ * {@code -2147483648}, the one {@code int} that would be mistaken for it, is rejected as out of range.
+ * <p>
+ * {@link #decode(byte[])} and {@link #decodeArray(byte[])} build {@link WeatherForecast} objects, so they can
+ * replace {@code response.getBody().as(...)}, and {@link #encode(WeatherForecast)} produces request bodies.
+ */
+public final class WeatherForecastCodec {
+    /**
+     * Reported for a number, or a date, that is missing or {@code null}. Never a decoded value.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+    /**
+     * Reported for a date that is present but not in {@code YYYY-MM-DD} form.
+     */
+    public static final int INVALID_DATE = -1;
+
+    private static final String[] SUMMARIES = {
+            "Undefined", "Freezing", "Bracing", "Chilly", "Cool", "Mild", "Warm", "Balmy", "Hot", "Sweltering", "Scorching"};
+    private static final byte[][] SUMMARY_BYTES = new byte[SUMMARIES.length][];
+    private static final byte[] ID = bytes("id");
+    private static final byte[] DATE = bytes("date");
+    private static final byte[] TEMPERATURE_C = bytes("temperatureC");
+    private static final byte[] TEMPERATURE_F = bytes("temperatureF");
+    private static final byte[] SUMMARY = bytes("summary");
+    private static final byte[] NULL = bytes("null");
+
+    static {
+        for (int i = 0; i < SUMMARIES.length; i++) {
+            SUMMARY_BYTES[i] = bytes(SUMMARIES[i]);
+        }
+    }
+
+    private WeatherForecastCodec() {
+    }
+
+    /**
+     * Receives the fields of one forecast as they are decoded.
+     */
+    public interface Visitor {
+        /**
+         * @param id           The id, or {@link #MISSING}.
+         * @param date         The date as {@code year * 10000 + month * 100 + day}, {@link #INVALID_DATE} or {@link #MISSING}.
+         * @param temperatureC The temperature in Celsius, or {@link #MISSING}.
+         * @param temperatureF The temperature in Fahrenheit, or {@link #MISSING}.
+         * @param summary      The summary, or {@code null}. Known summaries are always the same String instance.
+         */
+        void forecast(int id, int date, int temperatureC, int temperatureF, String summary);
+    }
+
+    /**
+     * Decodes a JSON array of forecasts from a stream, passing each one to the visitor as soon as it is read.
+     * Only a small read buffer is held in memory, however long the array is.
+     *
+     * @param in      The JSON input. It is not closed.
+     * @param visitor Receives every forecast in order.
+     * @return The number of forecasts decoded.
+     * @throws IOException If the input can't be read or is not a JSON array of forecast objects.
+     */
+    public static long decodeArray(InputStream in, Visitor visitor) throws IOException {
+        return new Parser(in, false).readArray(visitor);
+    }
+
+    public static long decodeArray(byte[] json, Visitor visitor) throws IOException {
+        return new Parser(json, false).readArray(visitor);
+    }
+
+    /**
+     * Decodes a JSON array of forecasts into {@link WeatherForecast} objects.
+     */
+    public static WeatherForecast[] decodeArray(byte[] json) throws IOException {
+        List<WeatherForecast> forecasts = new ArrayList<>();
+        Parser parser = new Parser(json, true);
+        parser.readArray((id, date, temperatureC, temperatureF, summary) ->
+                forecasts.add(toForecast(id, parser.dateText, temperatureC, temperatureF, summary)));
+        return forecasts.toArray(new WeatherForecast[0]);
+    }
+
+    /**
+     * Decodes a single JSON forecast object into a {@link WeatherForecast}.
+     */
+    public static WeatherForecast decode(byte[] json) throws IOException {
+        Parser parser = new Parser(json, true);
+        WeatherForecast[] result = new WeatherForecast[1];
+        parser.readSingle((id, date, temperatureC, temperatureF, summary) ->
+                result[0] = toForecast(id, parser.dateText, temperatureC, temperatureF, summary));
+        return result[0];
+    }
+
+    /**
+     * Encodes a forecast as a JSON object. A missing {@code temperatureF} is computed from {@code temperatureC}
+     * with {@link WeatherForecast#toFahrenheit(int)}, the same way the service does.
+     *
+     * @param forecast The forecast to encode.
+     * @return The UTF-8 encoded JSON.
+     */
+    public static byte[] encode(WeatherForecast forecast) {
+        Sink sink = new Sink();
+        encode(forecast, sink);
+        return Arrays.copyOf(sink.bytes, sink.length);
+    }
+
+    public static void encode(WeatherForecast forecast, OutputStream out) throws IOException {
+        Sink sink = new Sink();
+        encode(forecast, sink);
+        out.write(sink.bytes, 0, sink.length);
+    }
+
+    private static void encode(WeatherForecast forecast, Sink out) {
+        Integer temperatureF = forecast.temperatureF;
+        if (temperatureF == null && forecast.temperatureC != null) {
+            temperatureF = WeatherForecast.toFahrenheit(forecast.temperatureC);
+        }
+        out.write('{');
+        writeName(out, ID, false);
+        writeInt(out, forecast.id);
+        writeName(out, DATE, true);
+        writeString(out, forecast.date);
+        writeName(out, TEMPERATURE_C, true);
+        writeInt(out, forecast.temperatureC);
+        writeName(out, TEMPERATURE_F, true);
+        writeInt(out, temperatureF);
+        writeName(out, SUMMARY, true);
+        writeString(out, forecast.summary);
+        out.write('}');
+    }
+
+    /**
+     * Returns the year, month and day of a packed date as {@code YYYY-MM-DD}.
+     */
+    public static String formatDate(int date) {
+        return String.format("%04d-%02d-%02d", date / 10000, date / 100 % 100, date % 100);
+    }
+
+    private static WeatherForecast toForecast(int id, String date, int temperatureC, int temperatureF, String summary) {
+        WeatherForecast forecast = new WeatherForecast(boxed(id), date, boxed(temperatureC), summary);
+        forecast.temperatureF = boxed(temperatureF);
+        return forecast;
+    }
+
+    private static Integer boxed(int value) {
+        return value == MISSING ? null : value;
+    }
+
+    private static void writeName(Sink out, byte[] name, boolean comma) {
+        if (comma) {
+            out.write(',');
+        }
+        out.write('"');
+        out.write(name);
+        out.write('"');
+        out.write(':');
+    }
+
+    private static void writeInt(Sink out, Integer value) {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        int v = value;
+        if (v == Integer.MIN_VALUE) {
+            out.write(bytes(Integer.toString(v)));
+            return;
+        }
+        if (v < 0) {
+            out.write('-');
+            v = -v;
+        }
+        int digits = 1;
+        for (int rest = v / 10; rest != 0; rest /= 10) {
+            digits++;
+        }
+        out.ensureCapacity(digits);
+        for (int i = out.length + digits - 1; i >= out.length; i--) {
+            out.bytes[i] = (byte) ('0' + v % 10);
+            v /= 10;
+        }
+        out.length += digits;
+    }
+
+    private static void writeString(Sink out, String value) {
+        if (value == null) {
+            out.write(NULL);
+            return;
+        }
+        out.write('"');
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c == '"' || c == '\\') {
+                out.write('\\');
+                out.write(c);
+            } else if (c < 0x20) {
+                out.write(bytes(String.format("\\u%04x", (int) c)));
+            } else if (c < 0x80) {
+                out.write(c);
+            } else {
+                int end = i + 1;
+                if (Character.isHighSurrogate(c) && end < value.length()) {
+                    end++;
+                }
+                out.write(value.substring(i, end).getBytes(StandardCharsets.UTF_8));
+                i = end - 1;
+            }
+        }
+        out.write('"');
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * An unsynchronized, growable byte buffer for encoding.
+     */
+    private static final class Sink {
+        private byte[] bytes = new byte[128];
+        private int length;
+
+        void write(int b) {
+            ensureCapacity(1);
+            bytes[length++] = (byte) b;
+        }
+
+        void write(byte[] b) {
+            ensureCapacity(b.length);
+            System.arraycopy(b, 0, bytes, length, b.length);
+            length += b.length;
+        }
+
+        void ensureCapacity(int extra) {
+            if (length + extra > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, length + extra));
+            }
+        }
+    }
+
+    /**
+     * A minimal pull parser over either a complete byte array or a stream read through a fixed-size buffer.
+     */
+    private static final class Parser {
+        private final InputStream in;
+        private final byte[] buffer;
+        private final boolean keepDateText;
+        private int position;
+        private int limit;
+        private byte[] scratch = new byte[64];
+        private int scratchLength;
+
+        private int id;
+        private int date;
+        private int temperatureC;
+        private int temperatureF;
+        private String summary;
+        private String dateText;
+
+        Parser(byte[] json, boolean keepDateText) {
+            this.in = null;
+            this.buffer = json;
+            this.limit = json.length;
+            this.keepDateText = keepDateText;
+        }
+
+        Parser(InputStream in, boolean keepDateText) {
+            this.in = in;
+            this.buffer = new byte[8192];
+            this.keepDateText = keepDateText;
+        }
+
+        long readArray(Visitor visitor) throws IOException {
+            expect(nextToken(), '[');
+            long count = 0;
+            int c = nextToken();
+            if (c == ']') {
+                return 0;
+            }
+            while (true) {
+                expect(c, '{');
+                readObject();
+                visitor.forecast(id, date, temperatureC, temperatureF, summary);
+                count++;
+                c = nextToken();
+                if (c == ']') {
+                    return count;
+                }
+                expect(c, ',');
+                c = nextToken();
+            }
+        }
+
+        void readSingle(Visitor visitor) throws IOException {
+            expect(nextToken(), '{');
+            readObject();
+            visitor.forecast(id, date, temperatureC, temperatureF, summary);
+        }
+
+        private void readObject() throws IOException {
+            id = MISSING;
+            date = MISSING;
+            temperatureC = MISSING;
+            temperatureF = MISSING;
+            summary = null;
+            dateText = null;
+            int c = nextToken();
+            if (c == '}') {
+                return;
+            }
+            while (true) {
+                expect(c, '"');
+                readString();
+                expect(nextToken(), ':');
+                readField();
+                c = nextToken();
+                if (c == '}') {
+                    return;
+                }
+                expect(c, ',');
+                c = nextToken();
+            }
+        }
+
+        private void readField() throws IOException {
+            if (scratchEquals(ID)) {
+                id = readInt();
+            } else if (scratchEquals(TEMPERATURE_C)) {
+                temperatureC = readInt();
+            } else if (scratchEquals(TEMPERATURE_F)) {
+                temperatureF = readInt();
+            } else if (scratchEquals(DATE)) {
+                if (readStringOrNull()) {
+                    date = packedDate();
+                    if (keepDateText) {
+                        dateText = new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+                    }
+                }
+            } else if (scratchEquals(SUMMARY)) {
+                if (readStringOrNull()) {
+                    summary = internedSummary();
+                }
+            } else {
+                skipValue();
+            }
+        }
+
+        private int readInt() throws IOException {
+            int c = nextToken();
+            if (c == 'n') {
+                expectLiteral("ull");
+                return MISSING;
+            }
+            boolean negative = c == '-';
+            if (negative) {
+                c = read();
+            }
+            if (c < '0' || c > '9') {
+                throw error("Expected an integer");
+            }
+            long value = 0;
+            while (c >= '0' && c <= '9') {
+                value = value * 10 + (c - '0');
+                if (value > Integer.MAX_VALUE) {
+                    // Also rejects Integer.MIN_VALUE, which is reserved for MISSING.
+                    throw error("Integer out of range");
+                }
+                c = peek();
+                if (c >= '0' && c <= '9') {
+                    position++;
+                }
+            }
+            if (c == '.' || c == 'e' || c == 'E') {
+                throw error("Expected an integer");
+            }
+            return (int) (negative ? -value : value);
+        }
+
+        /**
+         * Reads a string value into the scratch buffer, or consumes {@code null}.
+         *
+         * @return {@code false} if the value was {@code null}.
+         */
+        private boolean readStringOrNull() throws IOException {
+            int c = nextToken();
+            if (c == 'n') {
+                expectLiteral("ull");
+                return false;
+            }
+            expect(c, '"');
+            readString();
+            return true;
+        }
+
+        /**
+         * Reads the rest of a string whose opening quote has been consumed into the scratch buffer as UTF-8.
+         */
+        private void readString() throws IOException {
+            scratchLength = 0;
+            while (true) {
+                int c = read();
+                if (c == '"') {
+                    return;
+                }
+                if (c < 0) {
+                    throw error("Unterminated string");
+                }
+                if (c == '\\') {
+                    readEscape();
+                } else {
+                    append(c);
+                }
+            }
+        }
+
+        private void readEscape() throws IOException {
+            int c = read();
+            switch (c) {
+                case '"':
+                case '\\':
+                case '/':
+                    append(c);
+                    break;
+                case 'b':
+                    append('\b');
+                    break;
+                case 'f':
+                    append('\f');
+                    break;
+                case 'n':
+                    append('\n');
+                    break;
+                case 'r':
+                    append('\r');
+                    break;
+                case 't':
+                    append('\t');
+                    break;
+                case 'u':
+                    appendCodePoint(readHex());
+                    break;
+                default:
+                    throw error("Invalid escape sequence");
+            }
+        }
+
+        private int readHex() throws IOException {
+            int value = 0;
+            for (int i = 0; i < 4; i++) {
+                int digit = Character.digit(read(), 16);
+                if (digit < 0) {
+                    throw error("Invalid unicode escape");
+                }
+                value = value * 16 + digit;
+            }
+            return value;
+        }
+
+        private void appendCodePoint(int unit) throws IOException {
+            int codePoint = unit;
+            if (Character.isHighSurrogate((char) unit) && peek() == '\\') {
+                position++;
+                if (read() != 'u') {
+                    throw error("Expected a low surrogate escape");
+                }
+                codePoint = Character.toCodePoint((char) unit, (char) readHex());
+            }
+            for (byte b : new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8)) {
+                append(b & 0xFF);
+            }
+        }
+
+        private void skipValue() throws IOException {
+            int c = nextToken();
+            if (c == '"') {
+                readString();
+            } else if (c == '{' || c == '[') {
+                int depth = 1;
+                while (depth > 0) {
+                    c = read();
+                    if (c < 0) {
+                        throw error("Unterminated value");
+                    } else if (c == '"') {
+                        readString();
+                    } else if (c == '{' || c == '[') {
+                        depth++;
+                    } else if (c == '}' || c == ']') {
+                        depth--;
+                    }
+                }
+            } else {
+                while (true) {
+                    c = peek();
+                    if (c < 0 || c == ',' || c == '}' || c == ']' || isWhitespace(c)) {
+                        return;
+                    }
+                    position++;
+                }
+            }
+        }
+
+        private int packedDate() {
+            if (scratchLength != 10 || scratch[4] != '-' || scratch[7] != '-') {
+                return INVALID_DATE;
+            }
+            int year = digits(0, 4);
+            int month = digits(5, 2);
+            int day = digits(8, 2);
+            if (year < 0 || month < 0 || day < 0) {
+                return INVALID_DATE;
+            }
+            return year * 10000 + month * 100 + day;
+        }
+
+        private int digits(int offset, int count) {
+            int value = 0;
+            for (int i = offset; i < offset + count; i++) {
+                int digit = scratch[i] - '0';
+                if (digit < 0 || digit > 9) {
+                    return -1;
+                }
+                value = value * 10 + digit;
+            }
+            return value;
+        }
+
+        private String internedSummary() {
+            for (int i = 0; i < SUMMARY_BYTES.length; i++) {
+                if (scratchEquals(SUMMARY_BYTES[i])) {
+                    return SUMMARIES[i];
+                }
+            }
+            return new String(scratch, 0, scratchLength, StandardCharsets.UTF_8);
+        }
+
+        private boolean scratchEquals(byte[] expected) {
+            if (expected.length != scratchLength) {
+                return false;
+            }
+            for (int i = 0; i < scratchLength; i++) {
+                if (scratch[i] != expected[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void append(int b) {
+            if (scratchLength == scratch.length) {
+                byte[] grown = new byte[scratch.length * 2];
+                System.arraycopy(scratch, 0, grown, 0, scratchLength);
+                scratch = grown;
+            }
+            scratch[scratchLength++] = (byte) b;
+        }
+
+        private void expectLiteral(String rest) throws IOException {
+            for (int i = 0; i < rest.length(); i++) {
+                if (read() != rest.charAt(i)) {
+                    throw error("Invalid literal");
+                }
+            }
+        }
+
+        private void expect(int actual, char expected) throws IOException {
+            if (actual != expected) {
+                throw error("Expected '" + expected + "'");
+            }
+        }
+
+        private int nextToken() throws IOException {
+            int c;
+            do {
+                c = read();
+            } while (isWhitespace(c));
+            return c;
+        }
+
+        private int read() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position++] & 0xFF;
+        }
+
+        private int peek() throws IOException {
+            if (position == limit && !fill()) {
+                return -1;
+            }
+            return buffer[position] & 0xFF;
+        }
+
+        private boolean fill() throws IOException {
+            if (in == null) {
+                return false;
+            }
+            int read = in.read(buffer, 0, buffer.length);
+            if (read <= 0) {
+                return false;
+            }
+            position = 0;
+            limit = read;
+            return true;
+        }
+
+        private static boolean isWhitespace(int c) {
+            return c == ' ' || c == '\n' || c == '\r' || c == '\t';
+        }
+
+        private IOException error(String message) {
+            return new IOException(message + " in weather forecast JSON");
+        }
+    }
+}
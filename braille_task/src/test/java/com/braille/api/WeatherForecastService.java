@@ -0,0 +1,51 @@
+package com.braille.api;
+
+import com.braille.utility.ConfigurationReader;
+
+import java.io.IOException;
+import java.time.Duration;
+
+/**
+ * The weather forecast service the API tests, load tests and API steps talk to, with the {@link ApiClient} for it.
+ * With {@code api.stub=true} it is an in-process {@link WeatherForecastStubServer} serving
+ * {@code api.stub.forecasts} (default 5) forecasts with {@code api.stub.latencyMillis} (default 0) of latency;
+ * otherwise it is the external service at {@code api.baseUrl}.
+ */
+public class WeatherForecastService implements AutoCloseable {
+    private final WeatherForecastStubServer stub;
+    private final ApiClient client;
+
+    private WeatherForecastService(WeatherForecastStubServer stub, ApiClient client) {
+        this.stub = stub;
+        this.client = client;
+    }
+
+    /**
+     * Starts the stub if it is configured and connects a client to the service.
+     */
+    public static WeatherForecastService start() throws IOException {
+        if (!ConfigurationReader.getBooleanProperty("api.stub", false)) {
+            return new WeatherForecastService(null, new ApiClient(ConfigurationReader.getProperty("api.baseUrl", "http://localhost:8081")));
+        }
+        WeatherForecastStubServer stub = new WeatherForecastStubServer(0,
+                ConfigurationReader.getIntProperty("api.stub.forecasts", 5),
+                Duration.ofMillis(ConfigurationReader.getIntProperty("api.stub.latencyMillis", 0)));
+        stub.start();
+        return new WeatherForecastService(stub, new ApiClient(stub.getBaseUri().toString()));
+    }
+
+    public ApiClient getClient() {
+        return client;
+    }
+
+    /**
+     * Closes the client and stops the stub, if one was started.
+     */
+    @Override
+    public void close() {
+        client.close();
+        if (stub != null) {
+            stub.stop();
+        }
+    }
+}
@@ -0,0 +1,76 @@
+package com.braille.api;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Validates a JSON array of weather forecasts while it is being read, one element at a time.
+ * Only the forecast currently being checked is held in memory, so heap use does not grow with the
+ * size of the response, and validation stops at the first invalid element.
+ */
+public class WeatherForecastStreamValidator {
+    private final Set<String> validSummaries;
+
+    public WeatherForecastStreamValidator(Collection<String> validSummaries) {
+        this.validSummaries = new HashSet<>(validSummaries);
+    }
+
+    /**
+     * Reads the forecast array from the given stream and validates every element as it arrives.
+     * Decoding goes through {@link WeatherForecastCodec}, so no per-forecast objects are created for known summaries.
+     *
+     * @param body The response body containing a JSON array of weather forecasts. It is closed when done.
+     * @return The number of forecasts that were read and validated.
+     * @throws IOException If the body can't be read or is not well-formed JSON.
+     */
+    public long validate(InputStream body) throws IOException {
+        long[] index = {0};
+        try (InputStream in = body) {
+            WeatherForecastCodec.decodeArray(in, (id, date, temperatureC, temperatureF, summary) ->
+                    validate(id, date, temperatureC, temperatureF, summary, index[0]++));
+        }
+        return index[0];
+    }
+
+    /**
+     * Checks one decoded forecast: all fields present, date in {@code YYYY-MM-DD} format as checked by the codec,
+     * Fahrenheit matching Celsius and a known summary.
+     * Failure messages are only built when a check fails, so valid forecasts cost no allocation.
+     */
+    private void validate(int id, int date, int temperatureC, int temperatureF, String summary, long index) {
+        if (id == WeatherForecastCodec.MISSING) {
+            fail("Expected non-null ID for weather forecast" + at(index));
+        }
+        if (date == WeatherForecastCodec.MISSING) {
+            fail("Expected non-null Date for weather forecast" + at(index));
+        }
+        if (temperatureC == WeatherForecastCodec.MISSING) {
+            fail("Expected non-null TemperatureC for weather forecast" + at(index));
+        }
+        if (temperatureF == WeatherForecastCodec.MISSING) {
+            fail("Expected non-null TemperatureF for weather forecast" + at(index));
+        }
+        if (summary == null) {
+            fail("Expected non-null Summary for weather forecast" + at(index));
+        }
+        if (date == WeatherForecastCodec.INVALID_DATE) {
+            fail("Expected date format YYYY-MM-DD for weather forecast" + at(index));
+        }
+        if (temperatureF != WeatherForecast.toFahrenheit(temperatureC)) {
+            fail("Expected TemperatureF " + WeatherForecast.toFahrenheit(temperatureC) + " for TemperatureC " + temperatureC
+                    + " but found " + temperatureF + at(index));
+        }
+        if (!validSummaries.contains(summary)) {
+            fail("Expected valid summary for weather forecast" + at(index) + " Found: " + summary);
+        }
+    }
+
+    private static String at(long index) {
+        return " at index " + index + ".";
+    }
+}
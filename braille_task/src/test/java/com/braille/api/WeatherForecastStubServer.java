@@ -0,0 +1,228 @@
+package com.braille.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * An in-process stand-in for the weather forecast service, so API tests and benchmarks can run without the external app.
+ * It serves {@code GET /weatherforecast}, {@code GET /weatherforecast/{id}} and {@code POST /weatherforecast}
+ * with the same JSON shape as the real service.
+ * <p>
+ * The number of generated forecasts and an artificial response latency are configurable. Latency is injected by
+ * scheduling the response instead of sleeping, so slow responses never tie up a request thread.
+ * <p>
+ * The build runs the tests and benchmarks with {@code -Dsun.net.httpserver.nodelay=true}, so responses are sent
+ * without waiting for the client's ACK (Nagle), which otherwise adds ~40 ms per keep-alive request.
+ */
+public class WeatherForecastStubServer implements AutoCloseable {
+    private static final String[] SUMMARIES = {
+            "Freezing", "Bracing", "Chilly", "Cool", "Mild", "Warm", "Balmy", "Hot", "Sweltering", "Scorching"};
+    private static final LocalDate FIRST_DATE = LocalDate.of(2024, 7, 25);
+    private static final int DATE_RANGE_DAYS = 36_500;
+    private static final int CACHED_BODY_LIMIT = 10_000;
+    private static final ObjectMapper MAPPER = ApiClient.OBJECT_MAPPER;
+    private static final ObjectWriter ELEMENT_WRITER = MAPPER.writer().without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    private final int forecastCount;
+    private final Duration latency;
+    private final HttpServer server;
+    private final ExecutorService handlers;
+    private final ScheduledExecutorService scheduler;
+    private final Map<Integer, WeatherForecast> created = new ConcurrentHashMap<>();
+    private final AtomicInteger nextId;
+    private final byte[] allForecastsBody;
+
+    /**
+     * Creates a stub server; call {@link #start()} to begin serving.
+     *
+     * @param port          The port to listen on, or 0 to pick a free port.
+     * @param forecastCount The number of forecasts returned by {@code GET /weatherforecast}, with ids 1 to forecastCount.
+     * @param latency       The delay added before every response.
+     * @throws IOException If the server socket can't be bound.
+     */
+    public WeatherForecastStubServer(int port, int forecastCount, Duration latency) throws IOException {
+        this.forecastCount = forecastCount;
+        this.latency = latency;
+        this.nextId = new AtomicInteger(forecastCount);
+        this.server = HttpServer.create(new InetSocketAddress("localhost", port), 1024);
+        this.handlers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors());
+        this.scheduler = Executors.newSingleThreadScheduledExecutor();
+        this.allForecastsBody = forecastCount <= CACHED_BODY_LIMIT ? renderAllForecasts() : null;
+        server.setExecutor(handlers);
+        server.createContext("/weatherforecast", this::handle);
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    public void stop() {
+        server.stop(0);
+        scheduler.shutdownNow();
+        handlers.shutdownNow();
+    }
+
+    @Override
+    public void close() {
+        stop();
+    }
+
+    public URI getBaseUri() {
+        return URI.create("http://localhost:" + server.getAddress().getPort());
+    }
+
+    /**
+     * Returns the generated forecast with the given id. The same id always yields the same forecast.
+     * Dates cycle through a hundred years, so they stay four-digit-year dates however many forecasts are served.
+     *
+     * @param id The forecast id, starting at 1.
+     * @return The forecast.
+     */
+    public static WeatherForecast forecast(int id) {
+        int temperatureC = -20 + (id * 37) % 75;
+        WeatherForecast forecast = new WeatherForecast(id, FIRST_DATE.plusDays((id - 1) % DATE_RANGE_DAYS).toString(), temperatureC,
+                SUMMARIES[id % SUMMARIES.length]);
+        forecast.temperatureF = WeatherForecast.toFahrenheit(temperatureC);
+        return forecast;
+    }
+
+    private void handle(HttpExchange exchange) {
+        if (latency.isZero()) {
+            respond(exchange);
+        } else {
+            scheduler.schedule(() -> handlers.execute(() -> respond(exchange)), latency.toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void respond(HttpExchange exchange) {
+        try {
+            String method = exchange.getRequestMethod();
+            String path = exchange.getRequestURI().getPath();
+            if (path.equals("/weatherforecast") || path.equals("/weatherforecast/")) {
+                if ("GET".equals(method)) {
+                    getAll(exchange);
+                } else if ("POST".equals(method)) {
+                    create(exchange);
+                } else {
+                    send(exchange, 405, null);
+                }
+            } else if ("GET".equals(method)) {
+                getById(exchange, path.substring("/weatherforecast/".length()));
+            } else {
+                send(exchange, 405, null);
+            }
+        } catch (IOException e) {
+            // The client went away; there is nobody left to respond to.
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void getAll(HttpExchange exchange) throws IOException {
+        if (allForecastsBody != null) {
+            send(exchange, 200, allForecastsBody);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(200, 0);
+        try (OutputStream body = exchange.getResponseBody()) {
+            writeAllForecasts(body);
+        }
+    }
+
+    private void getById(HttpExchange exchange, String idText) throws IOException {
+        int id;
+        try {
+            id = Integer.parseInt(idText);
+        } catch (NumberFormatException e) {
+            send(exchange, 400, null);
+            return;
+        }
+        WeatherForecast forecast = id >= 1 && id <= forecastCount ? forecast(id) : created.get(id);
+        if (forecast == null) {
+            send(exchange, 404, null);
+        } else {
+            send(exchange, 200, MAPPER.writeValueAsBytes(forecast));
+        }
+    }
+
+    private void create(HttpExchange exchange) throws IOException {
+        WeatherForecast request;
+        try (InputStream body = exchange.getRequestBody()) {
+            request = MAPPER.readValue(body, WeatherForecast.class);
+        } catch (IOException e) {
+            send(exchange, 400, null);
+            return;
+        }
+        if (request.date == null || request.temperatureC == null || request.summary == null) {
+            send(exchange, 400, null);
+            return;
+        }
+        WeatherForecast forecast = new WeatherForecast(nextId.incrementAndGet(), request.date, request.temperatureC, request.summary);
+        forecast.temperatureF = WeatherForecast.toFahrenheit(forecast.temperatureC);
+        created.put(forecast.id, forecast);
+        exchange.getResponseHeaders().set("Location", "/weatherforecast/" + forecast.id);
+        send(exchange, 201, MAPPER.writeValueAsBytes(forecast));
+    }
+
+    private void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        if (body == null) {
+            exchange.sendResponseHeaders(status, -1);
+            return;
+        }
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private byte[] renderAllForecasts() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(forecastCount * 96);
+        writeAllForecasts(out);
+        return out.toByteArray();
+    }
+
+    private void writeAllForecasts(OutputStream out) throws IOException {
+        try (JsonGenerator generator = MAPPER.getFactory().createGenerator(out)) {
+            generator.writeStartArray();
+            for (int id = 1; id <= forecastCount; id++) {
+                ELEMENT_WRITER.writeValue(generator, forecast(id));
+            }
+            generator.writeEndArray();
+        }
+    }
+
+    /**
+     * Runs the stub from the command line: {@code [port] [forecastCount] [latencyMillis]}. Pass
+     * {@code -Dsun.net.httpserver.nodelay=true} to the JVM for the same keep-alive latency as in the tests.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 8081;
+        int count = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        long latencyMillis = args.length > 2 ? Long.parseLong(args[2]) : 0;
+        WeatherForecastStubServer stub = new WeatherForecastStubServer(port, count, Duration.ofMillis(latencyMillis));
+        stub.start();
+        System.out.println("Weather forecast stub listening on " + stub.getBaseUri() + " with " + count + " forecasts");
+    }
+}
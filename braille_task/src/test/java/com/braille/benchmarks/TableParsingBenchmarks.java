@@ -0,0 +1,69 @@
+package com.braille.benchmarks;
+
+import com.braille.pages.WeatherTableRow;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures turning raw table data into rows the way {@code WeatherPage.captureTableData()} and
+ * {@code captureTableRows()} do, against canned data instead of a browser.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TableParsingBenchmarks {
+    private static final String[] SUMMARIES = {"Freezing", "Bracing", "Chilly", "Cool", "Mild", "Warm", "Hot"};
+
+    @Param({"5", "1000"})
+    public int rowCount;
+
+    private List<List<String>> cells;
+
+    @Setup
+    public void setup() {
+        cells = new ArrayList<>(rowCount);
+        for (int i = 0; i < rowCount; i++) {
+            int temperatureC = -20 + (i * 37) % 75;
+            cells.add(Arrays.asList(
+                    String.format("%02d/%02d/2024", 1 + i % 12, 1 + i % 28),
+                    String.valueOf(temperatureC),
+                    String.valueOf(32 + (int) (temperatureC / 0.5556)),
+                    SUMMARIES[i % SUMMARIES.length]));
+        }
+    }
+
+    @Benchmark
+    public List<WeatherTableRow> parseTableRows() {
+        List<WeatherTableRow> rows = new ArrayList<>(cells.size());
+        for (List<String> row : cells) {
+            rows.add(WeatherTableRow.fromCells(row));
+        }
+        return rows;
+    }
+
+    @Benchmark
+    public List<String> captureTableData() {
+        List<String> data = new ArrayList<>(cells.size());
+        for (List<String> row : cells) {
+            data.add(WeatherTableRow.fromCells(row).toText());
+        }
+        return data;
+    }
+
+    @Benchmark
+    public int validateTableRows() {
+        int valid = 0;
+        for (List<String> row : cells) {
+            WeatherTableRow tableRow = WeatherTableRow.fromCells(row);
+            if (tableRow.date.matches("\\d{2}/\\d{2}/\\d{4}") && tableRow.temperatureC != WeatherTableRow.MISSING
+                    && tableRow.temperatureF != WeatherTableRow.MISSING && !tableRow.summary.isEmpty()) {
+                valid++;
+            }
+        }
+        return valid;
+    }
+}
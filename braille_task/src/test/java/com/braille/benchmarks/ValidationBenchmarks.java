@@ -0,0 +1,45 @@
+package com.braille.benchmarks;
+
+import com.braille.test_cases.WeatherForecastApiTests;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the per-forecast checks of WeatherForecastApiTests: the {@code DATE_PATTERN} regex and the
+ * linear {@code VALID_SUMMARIES.contains}, next to a hash-set lookup for comparison.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class ValidationBenchmarks {
+    private static final Set<String> VALID_SUMMARY_SET = new HashSet<>(WeatherForecastApiTests.VALID_SUMMARIES);
+
+    public String date = "2024-07-25";
+
+    /**
+     * Summaries at the start and end of the list and one that is not in it, the worst case for a linear search.
+     */
+    @State(Scope.Benchmark)
+    public static class Summary {
+        @Param({"Undefined", "Scorching", "Unknown"})
+        public String value;
+    }
+
+    @Benchmark
+    public boolean datePatternMatches() {
+        return WeatherForecastApiTests.DATE_PATTERN.matcher(date).matches();
+    }
+
+    @Benchmark
+    public boolean validSummariesListContains(Summary summary) {
+        return WeatherForecastApiTests.VALID_SUMMARIES.contains(summary.value);
+    }
+
+    @Benchmark
+    public boolean validSummariesSetContains(Summary summary) {
+        return VALID_SUMMARY_SET.contains(summary.value);
+    }
+}
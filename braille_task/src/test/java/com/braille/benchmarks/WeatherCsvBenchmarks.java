@@ -0,0 +1,28 @@
+package com.braille.benchmarks;
+
+import com.braille.utility.WeatherCsvFiles;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures generating and writing the upload CSVs used by VerifyFileUploadFunctionality
+ * and VerifyLargeFileUploadFunctionality.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeatherCsvBenchmarks {
+
+    @Benchmark
+    public Path createTestFile() {
+        return WeatherCsvFiles.createTestFile("benchmark_weather_data.csv");
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    public Path createLargeTestFile() {
+        return WeatherCsvFiles.createLargeTestFile("benchmark_large_weather_data.csv", 100_000, 42);
+    }
+}
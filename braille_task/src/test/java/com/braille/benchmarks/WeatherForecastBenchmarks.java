@@ -0,0 +1,84 @@
+package com.braille.benchmarks;
+
+import com.braille.api.ApiClient;
+import com.braille.api.WeatherForecast;
+import com.braille.api.WeatherForecastCodec;
+import com.braille.api.WeatherForecastStubServer;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures binding of weather forecast JSON to {@link WeatherForecast} with Jackson, the way
+ * {@code response.getBody().as(...)} used to do it in WeatherForecastApiTests, against {@link WeatherForecastCodec}.
+ * Run with {@code -Djmh.args="-prof gc WeatherForecastBenchmarks"} to compare allocation per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class WeatherForecastBenchmarks {
+    private static final ObjectReader SINGLE_READER = ApiClient.OBJECT_MAPPER.readerFor(WeatherForecast.class);
+    private static final ObjectReader ARRAY_READER = ApiClient.OBJECT_MAPPER.readerFor(WeatherForecast[].class);
+
+    @Param({"5", "1000"})
+    public int forecastCount;
+
+    private WeatherForecast forecast;
+    private byte[] singleForecastJson;
+    private byte[] forecastArrayJson;
+
+    @Setup
+    public void setup() throws IOException {
+        WeatherForecast[] forecasts = new WeatherForecast[forecastCount];
+        for (int i = 0; i < forecastCount; i++) {
+            forecasts[i] = WeatherForecastStubServer.forecast(i + 1);
+        }
+        forecast = forecasts[0];
+        singleForecastJson = ApiClient.OBJECT_MAPPER.writeValueAsBytes(forecasts[0]);
+        forecastArrayJson = ApiClient.OBJECT_MAPPER.writeValueAsBytes(forecasts);
+    }
+
+    @Benchmark
+    public WeatherForecast deserializeSingleForecast() throws IOException {
+        return SINGLE_READER.readValue(singleForecastJson);
+    }
+
+    @Benchmark
+    public WeatherForecast[] deserializeForecastArray() throws IOException {
+        return ARRAY_READER.readValue(forecastArrayJson);
+    }
+
+    @Benchmark
+    public WeatherForecast codecDecodeSingleForecast() throws IOException {
+        return WeatherForecastCodec.decode(singleForecastJson);
+    }
+
+    @Benchmark
+    public WeatherForecast[] codecDecodeForecastArray() throws IOException {
+        return WeatherForecastCodec.decodeArray(forecastArrayJson);
+    }
+
+    @Benchmark
+    public long codecVisitForecastArray(Blackhole blackhole) throws IOException {
+        return WeatherForecastCodec.decodeArray(forecastArrayJson, (id, date, temperatureC, temperatureF, summary) -> {
+            blackhole.consume(id);
+            blackhole.consume(date);
+            blackhole.consume(temperatureC);
+            blackhole.consume(temperatureF);
+            blackhole.consume(summary);
+        });
+    }
+
+    @Benchmark
+    public byte[] jacksonEncodeForecast() throws IOException {
+        return ApiClient.OBJECT_MAPPER.writeValueAsBytes(forecast);
+    }
+
+    @Benchmark
+    public byte[] codecEncodeForecast() {
+        return WeatherForecastCodec.encode(forecast);
+    }
+}
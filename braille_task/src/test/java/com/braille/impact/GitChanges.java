@@ -0,0 +1,155 @@
+package com.braille.impact;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The files and lines that differ between a git revision and the working tree, including uncommitted and untracked
+ * files. Paths are relative to the module directory the diff was taken in. Deleted files and new untracked files
+ * count as changed in full.
+ */
+public class GitChanges {
+    private static final Pattern HUNK = Pattern.compile("^@@ -\\d+(?:,\\d+)? \\+(\\d+)(?:,(\\d+))? @@");
+
+    private final Path moduleDirectory;
+    private final Map<Path, Set<Integer>> changedLines = new HashMap<>();
+    private final Set<Path> wholeFiles = new HashSet<>();
+
+    private GitChanges(Path moduleDirectory) {
+        this.moduleDirectory = moduleDirectory.toAbsolutePath().normalize();
+    }
+
+    /**
+     * Diffs the working tree of the given module directory against a revision.
+     *
+     * @param moduleDirectory The directory to diff, usually the maven module.
+     * @param baseRevision    Any git revision, e.g. {@code HEAD} for uncommitted changes or {@code origin/main}.
+     * @throws IllegalStateException If git is not available or the revision is unknown.
+     */
+    public static GitChanges since(Path moduleDirectory, String baseRevision) {
+        GitChanges changes = new GitChanges(moduleDirectory);
+        Path file = null;
+        for (String line : git(moduleDirectory, "diff", "--relative", "--no-renames", "--no-color", "--unified=0", baseRevision, "--", ".")) {
+            if (line.startsWith("--- a/")) {
+                file = changes.resolve(line.substring(6));
+            } else if (line.startsWith("+++ ")) {
+                if (line.equals("+++ /dev/null")) {
+                    changes.wholeFiles.add(file);
+                } else {
+                    file = changes.resolve(line.substring(6));
+                }
+            } else if (line.startsWith("@@") && file != null) {
+                Matcher hunk = HUNK.matcher(line);
+                if (hunk.find()) {
+                    int start = Integer.parseInt(hunk.group(1));
+                    int count = hunk.group(2) != null ? Integer.parseInt(hunk.group(2)) : 1;
+                    Set<Integer> lines = changes.changedLines.computeIfAbsent(file, key -> new HashSet<>());
+                    if (count == 0) {
+                        // A pure deletion sits between two lines; both neighbours may belong to the edited member.
+                        lines.add(start);
+                        lines.add(start + 1);
+                    }
+                    for (int i = start; i < start + count; i++) {
+                        lines.add(i);
+                    }
+                }
+            }
+        }
+        for (String untracked : git(moduleDirectory, "ls-files", "--others", "--exclude-standard")) {
+            changes.wholeFiles.add(changes.resolve(untracked));
+        }
+        return changes;
+    }
+
+    /**
+     * Changes made up of the given changed lines, for checking the analysis against known edits.
+     *
+     * @param changedLines The changed line numbers per file, relative to the module directory.
+     */
+    static GitChanges ofLines(Path moduleDirectory, Map<Path, Set<Integer>> changedLines) {
+        GitChanges changes = new GitChanges(moduleDirectory);
+        changedLines.forEach((file, lines) -> changes.changedLines.put(changes.normalize(file), new HashSet<>(lines)));
+        return changes;
+    }
+
+    /**
+     * @return All changed files, relative to the module directory.
+     */
+    public Set<Path> getChangedFiles() {
+        Set<Path> files = new HashSet<>(wholeFiles);
+        files.addAll(changedLines.keySet());
+        Set<Path> relative = new HashSet<>();
+        for (Path file : files) {
+            relative.add(moduleDirectory.relativize(file));
+        }
+        return relative;
+    }
+
+    public boolean isWholeFileChanged(Path file) {
+        return wholeFiles.contains(normalize(file));
+    }
+
+    public boolean isAnyLineChanged(Path file, int firstLine, int lastLine) {
+        Set<Integer> lines = changedLines.get(normalize(file));
+        if (lines == null) {
+            return false;
+        }
+        for (int line = firstLine; line <= lastLine; line++) {
+            if (lines.contains(line)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    public boolean isAnyLineChanged(Path file, Collection<Integer> candidates) {
+        Set<Integer> lines = changedLines.get(normalize(file));
+        return lines != null && candidates.stream().anyMatch(lines::contains);
+    }
+
+    private Path resolve(String relativePath) {
+        return moduleDirectory.resolve(relativePath).normalize();
+    }
+
+    private Path normalize(Path file) {
+        return moduleDirectory.resolve(file).toAbsolutePath().normalize();
+    }
+
+    private static List<String> git(Path directory, String... arguments) {
+        List<String> command = new ArrayList<>();
+        command.add("git");
+        command.addAll(List.of(arguments));
+        try {
+            Process process = new ProcessBuilder(command).directory(directory.toFile()).redirectErrorStream(true).start();
+            List<String> lines = new ArrayList<>();
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    lines.add(line);
+                }
+            }
+            if (!process.waitFor(60, TimeUnit.SECONDS) || process.exitValue() != 0) {
+                throw new IllegalStateException(String.join(" ", command) + " failed: " + String.join("\n", lines));
+            }
+            return lines;
+        } catch (IOException e) {
+            throw new IllegalStateException("Could not run git in " + directory, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while running git", e);
+        }
+    }
+}
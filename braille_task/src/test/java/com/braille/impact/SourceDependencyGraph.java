@@ -0,0 +1,617 @@
+package com.braille.impact;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * A member-level dependency graph of the test sources, built by static analysis.
+ * Every method, constructor ({@code <init>}), field, static initializer ({@code <clinit>}) and nested type of a
+ * top-level class is a node named {@code Class#member} that knows the lines it spans. A node depends on the nodes it
+ * references: {@code homePage.navigateToWeather()} on a {@code HomePage} variable, {@code new CounterPage(...)},
+ * {@code WeatherForecastCodec.decode(...)} or a bare field or method name of its own class.
+ * <p>
+ * The analysis is a lexical approximation, not a compiler: it resolves variables by their declared type and ignores
+ * the types returned by calls, which is good enough for page objects, utilities and API models referenced by name.
+ */
+public class SourceDependencyGraph {
+    private static final Pattern PACKAGE = Pattern.compile("\\bpackage\\s+([\\w.]+)\\s*;");
+    private static final Pattern TYPE_DECLARATION = Pattern.compile("\\b(?:class|interface|enum)\\s+(\\w+)");
+    private static final Pattern EXTENDS = Pattern.compile("\\bextends\\s+(\\w+)");
+    private static final Pattern ANNOTATION = Pattern.compile("@\\w+(?:\\s*\\((?:[^()]|\\([^()]*\\))*\\))?");
+    private static final Pattern CALL_NAME = Pattern.compile("(\\w+)\\s*\\(");
+    private static final Pattern IDENTIFIER = Pattern.compile("[A-Za-z_$][\\w$]*");
+    private static final Pattern DECLARATION = Pattern.compile("\\b([A-Z]\\w*)(?:\\s*<[^;{}()]*?>)?(?:\\[])*\\s+([A-Za-z_$][\\w$]*)\\s*[;=,):]");
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList("class", "this", "super", "new"));
+    private static final Set<String> LIFECYCLE_ANNOTATIONS = new HashSet<>(Arrays.asList(
+            "@BeforeEach", "@AfterEach", "@BeforeAll", "@AfterAll", "@Before", "@After"));
+
+    /**
+     * One parsed source file with a single top-level type.
+     */
+    static final class SourceFile {
+        final Path path;
+        final String className;
+        final String simpleName;
+        final String superclass;
+        final String text;
+        final int[] lineStarts;
+        final Map<String, Member> members = new HashMap<>();
+        final Map<String, String> variableTypes = new HashMap<>();
+        final Set<String> nestedTypes = new HashSet<>();
+        Set<Integer> linesOutsideMembers;
+
+        SourceFile(Path path, String className, String simpleName, String superclass, String text) {
+            this.path = path;
+            this.className = className;
+            this.simpleName = simpleName;
+            this.superclass = superclass;
+            this.text = text;
+            List<Integer> starts = new ArrayList<>();
+            starts.add(0);
+            for (int i = 0; i < text.length(); i++) {
+                if (text.charAt(i) == '\n') {
+                    starts.add(i + 1);
+                }
+            }
+            lineStarts = starts.stream().mapToInt(Integer::intValue).toArray();
+        }
+
+        int lineOf(int offset) {
+            int index = Arrays.binarySearch(lineStarts, offset);
+            return (index >= 0 ? index : -index - 2) + 1;
+        }
+    }
+
+    /**
+     * All declarations of one member name, e.g. every overload of a method.
+     */
+    static final class Member {
+        final String name;
+        final List<int[]> spans = new ArrayList<>();
+        final List<String> headers = new ArrayList<>();
+        final boolean isField;
+        final boolean isStaticField;
+
+        Member(String name, boolean isField, boolean isStaticField) {
+            this.name = name;
+            this.isField = isField;
+            this.isStaticField = isStaticField;
+        }
+
+        boolean isLifecycle() {
+            return headers.stream().anyMatch(header -> LIFECYCLE_ANNOTATIONS.stream()
+                    .anyMatch(annotation -> Pattern.compile(Pattern.quote(annotation) + "\\b").matcher(header).find()));
+        }
+    }
+
+    private final Map<String, SourceFile> filesByClass = new HashMap<>();
+    private final Map<String, String> classBySimpleName = new HashMap<>();
+    private final Map<String, Set<String>> dependencies = new HashMap<>();
+
+    /**
+     * Parses every {@code .java} file below the given source root.
+     */
+    public SourceDependencyGraph(Path sourceRoot) {
+        List<Path> sources;
+        try (Stream<Path> files = Files.walk(sourceRoot)) {
+            sources = files.filter(file -> file.toString().endsWith(".java")).sorted().collect(Collectors.toList());
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list test sources in " + sourceRoot, e);
+        }
+        for (Path source : sources) {
+            try {
+                parse(source, new String(Files.readAllBytes(source), StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not read " + source, e);
+            }
+        }
+        for (SourceFile file : filesByClass.values()) {
+            for (Member member : file.members.values()) {
+                dependencies.put(file.className + "#" + member.name, resolveReferences(file, member));
+            }
+        }
+        for (SourceFile file : filesByClass.values()) {
+            // Constructing an object runs its field initializers. Initializers that reference no analysed class,
+            // such as By locators, can't change behaviour on their own and are left out.
+            Set<String> constructor = dependencies.computeIfAbsent(file.className + "#<init>", key -> new HashSet<>());
+            file.members.values().stream()
+                    .filter(member -> member.isField && !member.isStaticField)
+                    .map(member -> file.className + "#" + member.name)
+                    .filter(node -> dependencies.get(node).stream().anyMatch(reference -> !reference.startsWith(file.className + "#")))
+                    .forEach(constructor::add);
+        }
+    }
+
+    /**
+     * @return The fully qualified name of every parsed class.
+     */
+    public Set<String> getClassNames() {
+        return filesByClass.keySet();
+    }
+
+    /**
+     * @return The source file of the given class, or {@code null} if it is not part of the analysed sources.
+     */
+    public Path getSourceFile(String className) {
+        SourceFile file = filesByClass.get(className);
+        return file != null ? file.path : null;
+    }
+
+    /**
+     * @return The raw source text of the given class, or an empty string if it is unknown.
+     */
+    public String getSourceText(String className) {
+        SourceFile file = filesByClass.get(className);
+        return file != null ? file.text : "";
+    }
+
+    /**
+     * Returns every node a test method transitively depends on, including the lifecycle methods
+     * ({@code @BeforeEach} and friends) and static initialization of its class.
+     */
+    public Set<String> dependenciesOf(String className, String methodName) {
+        Set<String> start = new LinkedHashSet<>();
+        start.add(className + "#" + methodName);
+        start.add(className + "#<clinit>");
+        SourceFile file = filesByClass.get(className);
+        if (file != null) {
+            file.members.values().stream()
+                    .filter(member -> member.isLifecycle() || member.isStaticField)
+                    .forEach(member -> start.add(className + "#" + member.name));
+        }
+        return closure(start);
+    }
+
+    /**
+     * @return Whether any of the nodes spans one of the changed lines.
+     */
+    public boolean isAffected(Collection<String> nodes, GitChanges changes) {
+        for (String node : nodes) {
+            int hash = node.indexOf('#');
+            SourceFile file = filesByClass.get(node.substring(0, hash));
+            if (file == null) {
+                continue;
+            }
+            if (changes.isWholeFileChanged(file.path)) {
+                return true;
+            }
+            Member member = file.members.get(node.substring(hash + 1));
+            if (member != null) {
+                for (int[] span : member.spans) {
+                    if (changes.isAnyLineChanged(file.path, file.lineOf(span[0]), file.lineOf(span[1]))) {
+                        return true;
+                    }
+                }
+            }
+            if (file.linesOutsideMembers == null) {
+                file.linesOutsideMembers = outsideMembers(file);
+            }
+            if (changes.isAnyLineChanged(file.path, file.linesOutsideMembers)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The nodes the changes touch. A change outside every member, or of a whole file, touches every node of
+     * the class.
+     */
+    public Set<String> changedNodes(GitChanges changes) {
+        Set<String> changed = new TreeSet<>();
+        for (SourceFile file : filesByClass.values()) {
+            if (file.linesOutsideMembers == null) {
+                file.linesOutsideMembers = outsideMembers(file);
+            }
+            boolean wholeClass = changes.isWholeFileChanged(file.path) || changes.isAnyLineChanged(file.path, file.linesOutsideMembers);
+            for (Member member : file.members.values()) {
+                if (wholeClass || member.spans.stream().anyMatch(span ->
+                        changes.isAnyLineChanged(file.path, file.lineOf(span[0]), file.lineOf(span[1])))) {
+                    changed.add(file.className + "#" + member.name);
+                }
+            }
+        }
+        return changed;
+    }
+
+    /**
+     * Finds a change the graph can't attribute to particular tests: a changed node that no test reaches, or a change
+     * to a class that tests only reach through {@code <init>} or {@code <clinit>}. The methods of such a class are
+     * called from somewhere the analysis can't see, e.g. WebDriver listener callbacks, so any test may run them.
+     * Classes that use Cucumber are left out; their changes are covered by the Cucumber runners.
+     *
+     * @param tests The test methods, as {@code Class#method}.
+     * @return A description of the first such change, or {@code null} if every change is attributed.
+     */
+    public String findUnattributedChange(Collection<String> tests, GitChanges changes) {
+        Set<String> reachable = new HashSet<>();
+        for (String test : tests) {
+            int hash = test.indexOf('#');
+            reachable.addAll(dependenciesOf(test.substring(0, hash), test.substring(hash + 1)));
+        }
+        Set<String> reachedThroughMembers = new HashSet<>();
+        for (String node : reachable) {
+            if (!node.endsWith("#<init>") && !node.endsWith("#<clinit>")) {
+                reachedThroughMembers.add(node.substring(0, node.indexOf('#')));
+            }
+        }
+        for (String node : changedNodes(changes)) {
+            String className = node.substring(0, node.indexOf('#'));
+            if (getSourceText(className).contains("io.cucumber")) {
+                continue;
+            }
+            if (!reachable.contains(node)) {
+                return node + " is not reached by any test";
+            }
+            if (!reachedThroughMembers.contains(className)) {
+                return className + " is only reached through its construction, its methods may be called back from anywhere";
+            }
+        }
+        return null;
+    }
+
+    /**
+     * @return The methods annotated with {@code @Test}, as {@code Class#method}.
+     */
+    public Set<String> getTestMethods() {
+        Set<String> tests = new TreeSet<>();
+        for (SourceFile file : filesByClass.values()) {
+            for (Member member : file.members.values()) {
+                if (member.headers.stream().anyMatch(header -> Pattern.compile("@Test\\b").matcher(header).find())) {
+                    tests.add(file.className + "#" + member.name);
+                }
+            }
+        }
+        return tests;
+    }
+
+    /**
+     * @return The line numbers of a file that belong to no member: package, imports, class declaration and so on.
+     * A change there can affect any member, so it counts as a change of every node of the class.
+     */
+    private static Set<Integer> outsideMembers(SourceFile file) {
+        Set<Integer> lines = new HashSet<>();
+        for (int line = 1; line <= file.lineStarts.length; line++) {
+            lines.add(line);
+        }
+        for (Member member : file.members.values()) {
+            for (int[] span : member.spans) {
+                for (int line = file.lineOf(span[0]); line <= file.lineOf(span[1]); line++) {
+                    lines.remove(line);
+                }
+            }
+        }
+        return lines;
+    }
+
+    private Set<String> closure(Set<String> start) {
+        Set<String> seen = new LinkedHashSet<>(start);
+        Deque<String> queue = new ArrayDeque<>(start);
+        while (!queue.isEmpty()) {
+            for (String next : dependencies.getOrDefault(queue.poll(), Collections.emptySet())) {
+                if (seen.add(next)) {
+                    queue.add(next);
+                }
+            }
+        }
+        return seen;
+    }
+
+    private void parse(Path path, String source) {
+        String text = stripCommentsAndLiterals(source);
+        Matcher packageMatcher = PACKAGE.matcher(text);
+        String packageName = packageMatcher.find() ? packageMatcher.group(1) + "." : "";
+        Matcher typeMatcher = TYPE_DECLARATION.matcher(text);
+        if (!typeMatcher.find()) {
+            return;
+        }
+        int bodyStart = text.indexOf('{', typeMatcher.end());
+        if (bodyStart < 0) {
+            return;
+        }
+        Matcher extendsMatcher = EXTENDS.matcher(text.substring(typeMatcher.end(), bodyStart));
+        String simpleName = typeMatcher.group(1);
+        SourceFile file = new SourceFile(path, packageName + simpleName, simpleName,
+                extendsMatcher.find() ? extendsMatcher.group(1) : null, text);
+        parseMembers(file, bodyStart);
+
+        Matcher declarations = DECLARATION.matcher(text);
+        while (declarations.find()) {
+            file.variableTypes.put(declarations.group(2), declarations.group(1));
+        }
+        filesByClass.put(file.className, file);
+        classBySimpleName.put(simpleName, file.className);
+    }
+
+    /**
+     * Splits the body of the top-level type into members by walking it at brace depth one.
+     */
+    private static void parseMembers(SourceFile file, int bodyStart) {
+        String text = file.text;
+        int memberStart = bodyStart + 1;
+        int parens = 0;
+        int i = bodyStart + 1;
+        while (i < text.length()) {
+            char c = text.charAt(i);
+            if (c == '(') {
+                parens++;
+            } else if (c == ')') {
+                parens--;
+            } else if (c == '{' && parens == 0) {
+                int close = matchingBrace(text, i);
+                String header = text.substring(memberStart, i);
+                if (!containsTopLevel(header, '=')) {
+                    addMember(file, header, memberStart, close, false);
+                    memberStart = close + 1;
+                }
+                i = close + 1;
+                continue;
+            } else if (c == ';' && parens == 0) {
+                addMember(file, text.substring(memberStart, i), memberStart, i, true);
+                memberStart = i + 1;
+            } else if (c == '}' && parens == 0) {
+                break;
+            }
+            i++;
+        }
+    }
+
+    private static void addMember(SourceFile file, String header, int start, int end, boolean isField) {
+        String declaration = ANNOTATION.matcher(header).replaceAll(" ").trim();
+        if (declaration.isEmpty() && !isField) {
+            declaration = "static";
+        }
+        if (declaration.isEmpty()) {
+            return;
+        }
+        String name;
+        Matcher nestedType = TYPE_DECLARATION.matcher(declaration);
+        int equals = indexOfTopLevel(declaration, '=');
+        String beforeInitializer = equals >= 0 ? declaration.substring(0, equals) : declaration;
+        if (!isField && nestedType.find()) {
+            name = nestedType.group(1);
+            file.nestedTypes.add(name);
+        } else if (beforeInitializer.contains("(")) {
+            Matcher call = CALL_NAME.matcher(beforeInitializer);
+            name = null;
+            while (call.find()) {
+                name = call.group(1);
+            }
+            if (name == null) {
+                return;
+            }
+            if (name.equals(file.simpleName)) {
+                name = "<init>";
+            }
+        } else if (!isField) {
+            name = "<clinit>";
+        } else {
+            Matcher identifiers = IDENTIFIER.matcher(beforeInitializer);
+            name = null;
+            while (identifiers.find()) {
+                name = identifiers.group();
+            }
+            if (name == null) {
+                return;
+            }
+        }
+        boolean isVariable = isField && !beforeInitializer.contains("(");
+        boolean isStaticField = isVariable && Pattern.compile("\\bstatic\\b").matcher(beforeInitializer).find();
+        int leading = start;
+        while (leading < end && Character.isWhitespace(file.text.charAt(leading))) {
+            leading++;
+        }
+        Member member = file.members.computeIfAbsent(name, key -> new Member(key, isVariable, isStaticField));
+        member.spans.add(new int[]{leading, end});
+        member.headers.add(header);
+    }
+
+    private Set<String> resolveReferences(SourceFile file, Member member) {
+        Set<String> references = new HashSet<>();
+        for (int[] span : member.spans) {
+            String body = file.text.substring(span[0], span[1]);
+            Matcher identifiers = IDENTIFIER.matcher(body);
+            while (identifiers.find()) {
+                String identifier = identifiers.group();
+                String memberAfter = memberAccessAfter(body, identifiers.end());
+                boolean qualified = precededByDot(body, identifiers.start());
+                String type = qualified ? fieldTypeOfQualifier(body, identifiers.start(), identifier) : file.variableTypes.get(identifier);
+                if (type == null && !qualified && classBySimpleName.containsKey(identifier)) {
+                    type = identifier;
+                    if (memberAfter == null && precededByNew(body, identifiers.start())) {
+                        memberAfter = "<init>";
+                    }
+                }
+                if (type != null && classBySimpleName.containsKey(type)) {
+                    String target = classBySimpleName.get(type);
+                    references.add(target + "#<clinit>");
+                    if (memberAfter != null) {
+                        references.add(resolveInherited(target, memberAfter));
+                    }
+                    if (!qualified && file.members.containsKey(identifier) && !identifier.equals(member.name)) {
+                        references.add(file.className + "#" + identifier);
+                    }
+                } else if (file.nestedTypes.contains(identifier)) {
+                    references.add(file.className + "#" + identifier);
+                } else if ((!qualified || body.startsWith("this", Math.max(0, identifiers.start() - 5)))
+                        && file.members.containsKey(identifier) && !identifier.equals(member.name)) {
+                    references.add(file.className + "#" + identifier);
+                } else if (!qualified && file.superclass != null && classBySimpleName.containsKey(file.superclass)) {
+                    String inherited = resolveInherited(classBySimpleName.get(file.superclass), identifier);
+                    if (dependencies.containsKey(inherited) || hasMember(inherited)) {
+                        references.add(inherited);
+                    }
+                }
+            }
+        }
+        return references;
+    }
+
+    /**
+     * Resolves the declared type of a field accessed through its class, like {@code POOL} in {@code Driver.POOL.lease()}.
+     *
+     * @return The field's type, or {@code null} if the qualifier is not an analysed class with that field.
+     */
+    private String fieldTypeOfQualifier(String body, int index, String identifier) {
+        int dot = index - 1;
+        while (dot >= 0 && body.charAt(dot) != '.') {
+            dot--;
+        }
+        int end = dot;
+        while (end > 0 && Character.isWhitespace(body.charAt(end - 1))) {
+            end--;
+        }
+        int start = end;
+        while (start > 0 && Character.isJavaIdentifierPart(body.charAt(start - 1))) {
+            start--;
+        }
+        SourceFile qualifier = filesByClass.get(classBySimpleName.get(body.substring(start, end)));
+        Member field = qualifier != null ? qualifier.members.get(identifier) : null;
+        return field != null && field.isField ? qualifier.variableTypes.get(identifier) : null;
+    }
+
+    private String resolveInherited(String className, String memberName) {
+        String current = className;
+        while (current != null) {
+            SourceFile file = filesByClass.get(current);
+            if (file == null) {
+                break;
+            }
+            if (file.members.containsKey(memberName)) {
+                return current + "#" + memberName;
+            }
+            current = file.superclass != null ? classBySimpleName.get(file.superclass) : null;
+        }
+        return className + "#" + memberName;
+    }
+
+    private boolean hasMember(String node) {
+        int hash = node.indexOf('#');
+        SourceFile file = filesByClass.get(node.substring(0, hash));
+        return file != null && file.members.containsKey(node.substring(hash + 1));
+    }
+
+    private static String memberAccessAfter(String body, int index) {
+        int i = skipWhitespace(body, index);
+        if (i + 1 < body.length() && body.charAt(i) == ':' && body.charAt(i + 1) == ':') {
+            i = skipWhitespace(body, i + 2);
+        } else if (i < body.length() && body.charAt(i) == '.') {
+            i = skipWhitespace(body, i + 1);
+        } else {
+            return null;
+        }
+        Matcher identifier = IDENTIFIER.matcher(body);
+        return identifier.find(i) && identifier.start() == i && !KEYWORDS.contains(identifier.group()) ? identifier.group() : null;
+    }
+
+    private static boolean precededByDot(String body, int index) {
+        int i = index - 1;
+        while (i >= 0 && Character.isWhitespace(body.charAt(i))) {
+            i--;
+        }
+        return i >= 0 && body.charAt(i) == '.';
+    }
+
+    private static boolean precededByNew(String body, int index) {
+        return body.substring(Math.max(0, index - 8), index).matches("(?s).*\\bnew\\s+$");
+    }
+
+    private static int skipWhitespace(String text, int index) {
+        while (index < text.length() && Character.isWhitespace(text.charAt(index))) {
+            index++;
+        }
+        return index;
+    }
+
+    private static int matchingBrace(String text, int open) {
+        int depth = 0;
+        for (int i = open; i < text.length(); i++) {
+            if (text.charAt(i) == '{') {
+                depth++;
+            } else if (text.charAt(i) == '}' && --depth == 0) {
+                return i;
+            }
+        }
+        return text.length() - 1;
+    }
+
+    private static boolean containsTopLevel(String text, char wanted) {
+        return indexOfTopLevel(text, wanted) >= 0;
+    }
+
+    private static int indexOfTopLevel(String text, char wanted) {
+        int depth = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '(' || c == '<' && wanted != '<') {
+                depth++;
+            } else if (c == ')' || c == '>' && depth > 0 && text.charAt(i - 1) != '-') {
+                depth--;
+            } else if (c == wanted && depth == 0) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Blanks out comments and string and character literals, keeping every offset and line break in place.
+     */
+    static String stripCommentsAndLiterals(String source) {
+        StringBuilder out = new StringBuilder(source);
+        int i = 0;
+        while (i < source.length()) {
+            char c = source.charAt(i);
+            char next = i + 1 < source.length() ? source.charAt(i + 1) : 0;
+            int start = i;
+            int end;
+            if (c == '/' && next == '/') {
+                end = source.indexOf('\n', i);
+                end = end < 0 ? source.length() : end;
+                i = end;
+            } else if (c == '/' && next == '*') {
+                end = source.indexOf("*/", i + 2);
+                end = end < 0 ? source.length() : end + 2;
+                i = end;
+            } else if (c == '"' || c == '\'') {
+                // Keep the quotes so the literal still separates tokens.
+                start = i + 1;
+                end = start;
+                while (end < source.length() && source.charAt(end) != c && source.charAt(end) != '\n') {
+                    end += source.charAt(end) == '\\' ? 2 : 1;
+                }
+                end = Math.min(end, source.length());
+                i = end + 1;
+            } else {
+                i++;
+                continue;
+            }
+            for (int j = start; j < end; j++) {
+                if (out.charAt(j) != '\n') {
+                    out.setCharAt(j, ' ');
+                }
+            }
+        }
+        return out.toString();
+    }
+}
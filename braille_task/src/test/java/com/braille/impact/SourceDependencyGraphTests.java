@@ -0,0 +1,83 @@
+package com.braille.impact;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the test selection of {@link SourceDependencyGraph} against edits to the real test sources.
+ */
+public class SourceDependencyGraphTests {
+    private static final Path SOURCE_ROOT = Paths.get("src", "test", "java");
+    private static final String SDET_ASSESSMENT = "com.braille.test_cases.SdetAssessment";
+    private static final String API_TESTS = "com.braille.test_cases.WeatherForecastApiTests";
+
+    private final SourceDependencyGraph graph = new SourceDependencyGraph(SOURCE_ROOT);
+
+    @Test
+    @Tag("Impact")
+    @DisplayName("A change to the driver pool selects every UI test")
+    public void changeToDriverPoolSelectsUiTests() throws IOException {
+        GitChanges changes = changeLineContaining("com/braille/utility/DriverPool.java", "public WebDriver lease()");
+        for (String test : testsOf(SDET_ASSESSMENT)) {
+            assertTrue(isSelected(test, changes), test + " should be selected when DriverPool.lease changes");
+        }
+        for (String test : testsOf(API_TESTS)) {
+            assertFalse(isSelected(test, changes), test + " does not use the driver pool");
+        }
+        assertNull(graph.findUnattributedChange(graph.getTestMethods(), changes));
+    }
+
+    @Test
+    @Tag("Impact")
+    @DisplayName("A change to the browser daemon selects every UI test")
+    public void changeToBrowserDaemonSelectsUiTests() throws IOException {
+        GitChanges changes = changeLineContaining("com/braille/utility/BrowserDaemon.java", "public synchronized ParkedSession reattach()");
+        for (String test : testsOf(SDET_ASSESSMENT)) {
+            assertTrue(isSelected(test, changes), test + " should be selected when BrowserDaemon.reattach changes");
+        }
+    }
+
+    @Test
+    @Tag("Impact")
+    @DisplayName("A change to a callback-only class selects every test")
+    public void changeToCallbackOnlyClassIsUnattributed() throws IOException {
+        GitChanges changes = changeLineContaining("com/braille/utility/WebDriverTimingListener.java", "public void beforeAnyCall(");
+        assertNotNull(graph.findUnattributedChange(graph.getTestMethods(), changes),
+                "WebDriverTimingListener methods are only called back by Selenium, so every test must run");
+    }
+
+    private boolean isSelected(String test, GitChanges changes) {
+        int hash = test.indexOf('#');
+        return graph.isAffected(graph.dependenciesOf(test.substring(0, hash), test.substring(hash + 1)), changes);
+    }
+
+    private List<String> testsOf(String className) {
+        List<String> tests = graph.getTestMethods().stream().filter(test -> test.startsWith(className + "#")).collect(Collectors.toList());
+        assertFalse(tests.isEmpty(), "No tests found in " + className);
+        return tests;
+    }
+
+    private static GitChanges changeLineContaining(String source, String text) throws IOException {
+        Path file = SOURCE_ROOT.resolve(source);
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        for (int i = 0; i < lines.size(); i++) {
+            if (lines.get(i).contains(text)) {
+                return GitChanges.ofLines(Paths.get(""), Collections.singletonMap(file, Set.of(i + 1)));
+            }
+        }
+        throw new IllegalArgumentException(source + " has no line containing " + text);
+    }
+}
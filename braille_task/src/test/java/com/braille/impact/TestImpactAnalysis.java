@@ -0,0 +1,244 @@
+package com.braille.impact;
+
+import com.braille.utility.ConfigurationReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Decides which tests have to run. With {@code impact.base} set to a git revision, a test only runs when a line
+ * it transitively depends on (see {@link SourceDependencyGraph}) changed since that revision. With
+ * {@code impact.cache=true}, a test that passed before with identical inputs is not run again; its inputs are the
+ * source files it depends on, {@code pom.xml}, the configuration and the application build given as {@code app.build}.
+ * <p>
+ * Changes to anything but test sources, feature files and the files matched by {@code impact.ignore} (default
+ * {@code .gitignore,*.md,*.sh}) select every test, and so do source changes the graph can't attribute to particular
+ * tests (see {@link SourceDependencyGraph#findUnattributedChange}). Cucumber runners discover their glue at runtime, so they run
+ * whenever anything changed and are never cached.
+ */
+public class TestImpactAnalysis {
+    private static final Path SOURCE_ROOT = Paths.get("src", "test", "java");
+    private static final Path FEATURES = Paths.get("src", "test", "resources", "features");
+    private static final List<String> CONFIGURATION_PREFIXES = Arrays.asList(
+            "api.", "app.", "browser", "driver.", "load.", "session.", "ui.", "upload.", "wait.");
+
+    private static volatile TestImpactAnalysis instance;
+
+    private final String baseRevision = ConfigurationReader.getProperty("impact.base", "");
+    private final boolean cacheEnabled = ConfigurationReader.getBooleanProperty("impact.cache", false);
+    private final Path moduleDirectory = Paths.get("").toAbsolutePath();
+    private final Path cacheFile = Paths.get(ConfigurationReader.getProperty("impact.cacheFile", ".impact-cache/test-results.properties"));
+    private final Map<String, String> cacheKeys = new ConcurrentHashMap<>();
+    private final Map<Path, String> fileHashes = new ConcurrentHashMap<>();
+    private final Properties cachedPasses = new Properties();
+    private SourceDependencyGraph graph;
+    private GitChanges changes;
+    private boolean everythingChanged;
+    private String sharedInputsHash;
+
+    private TestImpactAnalysis() {
+    }
+
+    public static TestImpactAnalysis get() {
+        if (instance == null) {
+            synchronized (TestImpactAnalysis.class) {
+                if (instance == null) {
+                    instance = new TestImpactAnalysis();
+                }
+            }
+        }
+        return instance;
+    }
+
+    public boolean isEnabled() {
+        return isSelectionEnabled() || cacheEnabled;
+    }
+
+    public boolean isSelectionEnabled() {
+        return !baseRevision.isEmpty();
+    }
+
+    public boolean isCacheEnabled() {
+        return cacheEnabled;
+    }
+
+    /**
+     * @return Whether the test method depends on anything that changed since {@code impact.base}.
+     */
+    public synchronized boolean isImpacted(String className, String methodName) {
+        initialize();
+        if (everythingChanged || graph.getSourceFile(className) == null) {
+            return true;
+        }
+        if (isCucumberRunner(className)) {
+            return !changes.getChangedFiles().isEmpty();
+        }
+        return graph.isAffected(graph.dependenciesOf(className, methodName), changes);
+    }
+
+    /**
+     * @return Whether the test passed in an earlier run with exactly the same inputs.
+     */
+    public synchronized boolean hasCachedPass(String className, String methodName) {
+        String key = cacheKey(className, methodName);
+        return key != null && key.equals(cachedPasses.getProperty(className + "#" + methodName));
+    }
+
+    /**
+     * Remembers a passed test, or forgets it when it failed, so the next run can skip or rerun it.
+     */
+    public synchronized void recordResult(String className, String methodName, boolean passed) {
+        String key = cacheKey(className, methodName);
+        if (passed && key != null) {
+            cachedPasses.setProperty(className + "#" + methodName, key);
+        } else {
+            cachedPasses.remove(className + "#" + methodName);
+        }
+    }
+
+    public synchronized void saveCache() {
+        if (!cacheEnabled || graph == null) {
+            return;
+        }
+        try {
+            if (cacheFile.toAbsolutePath().getParent() != null) {
+                Files.createDirectories(cacheFile.toAbsolutePath().getParent());
+            }
+            try (OutputStream out = Files.newOutputStream(cacheFile)) {
+                cachedPasses.store(out, "Passed tests and the hash of their inputs, see TestImpactAnalysis");
+            }
+        } catch (IOException e) {
+            System.out.println("Could not write the test result cache " + cacheFile + ": " + e.getMessage());
+        }
+    }
+
+    private void initialize() {
+        if (graph != null) {
+            return;
+        }
+        graph = new SourceDependencyGraph(SOURCE_ROOT);
+        if (isSelectionEnabled()) {
+            changes = GitChanges.since(moduleDirectory, baseRevision);
+            List<String> ignored = Arrays.asList(ConfigurationReader.getProperty("impact.ignore", ".gitignore,*.md,*.sh").split(","));
+            for (Path file : changes.getChangedFiles()) {
+                boolean isIgnored = ignored.stream().anyMatch(pattern ->
+                        file.getFileSystem().getPathMatcher("glob:" + pattern.trim()).matches(file.getFileName()));
+                if (!isIgnored && !file.startsWith(SOURCE_ROOT) && !file.startsWith(FEATURES)) {
+                    System.out.println("Running every test because " + file + " changed");
+                    everythingChanged = true;
+                }
+            }
+            String unattributed = everythingChanged ? null : graph.findUnattributedChange(graph.getTestMethods(), changes);
+            if (unattributed != null) {
+                System.out.println("Running every test because " + unattributed);
+                everythingChanged = true;
+            }
+        }
+        if (cacheEnabled && Files.isRegularFile(cacheFile)) {
+            try (InputStream in = Files.newInputStream(cacheFile)) {
+                cachedPasses.load(in);
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable test result cache " + cacheFile + ": " + e.getMessage());
+            }
+        }
+    }
+
+    private boolean isCucumberRunner(String className) {
+        return graph.getSourceText(className).contains("io.cucumber");
+    }
+
+    /**
+     * @return A hash of everything the test's result depends on, or {@code null} if the result must not be cached.
+     */
+    private String cacheKey(String className, String methodName) {
+        initialize();
+        if (!cacheEnabled || graph.getSourceFile(className) == null || isCucumberRunner(className)) {
+            return null;
+        }
+        return cacheKeys.computeIfAbsent(className + "#" + methodName, test -> {
+            Set<String> classes = new TreeSet<>();
+            for (String node : graph.dependenciesOf(className, methodName)) {
+                classes.add(node.substring(0, node.indexOf('#')));
+            }
+            StringBuilder inputs = new StringBuilder(test).append('\n').append(sharedInputsHash());
+            for (String dependency : classes) {
+                Path source = graph.getSourceFile(dependency);
+                if (source != null) {
+                    inputs.append('\n').append(dependency).append('=').append(hashFile(source));
+                }
+            }
+            return sha256(inputs.toString().getBytes(StandardCharsets.UTF_8));
+        });
+    }
+
+    /**
+     * Hashes the inputs every test shares: the build file, the configuration and the application build.
+     */
+    private String sharedInputsHash() {
+        if (sharedInputsHash == null) {
+            String appBuild = ConfigurationReader.getProperty("app.build", "");
+            if (appBuild.isEmpty()) {
+                System.out.println("app.build is not set, cached results are only valid as long as the application under test is unchanged");
+            }
+            Map<String, String> configuration = new TreeMap<>();
+            Properties fileProperties = new Properties();
+            Path configurationFile = Paths.get("configuration.properties");
+            if (Files.isRegularFile(configurationFile)) {
+                try (InputStream in = Files.newInputStream(configurationFile)) {
+                    fileProperties.load(in);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }
+            List<String> keys = new ArrayList<>(fileProperties.stringPropertyNames());
+            keys.addAll(System.getProperties().stringPropertyNames());
+            for (String key : keys) {
+                if (fileProperties.containsKey(key) || CONFIGURATION_PREFIXES.stream().anyMatch(key::startsWith)) {
+                    configuration.put(key, ConfigurationReader.getProperty(key, ""));
+                }
+            }
+            sharedInputsHash = sha256(("app.build=" + appBuild + "\npom.xml=" + hashFile(Paths.get("pom.xml"))
+                    + "\n" + configuration).getBytes(StandardCharsets.UTF_8));
+        }
+        return sharedInputsHash;
+    }
+
+    private String hashFile(Path file) {
+        return fileHashes.computeIfAbsent(file, path -> {
+            try {
+                return Files.isRegularFile(path) ? sha256(Files.readAllBytes(path)) : "missing";
+            } catch (IOException e) {
+                throw new UncheckedIOException("Could not hash " + path, e);
+            }
+        });
+    }
+
+    private static String sha256(byte[] bytes) {
+        try {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : MessageDigest.getInstance("SHA-256").digest(bytes)) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.braille.impact;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Removes the tests that {@link TestImpactAnalysis} says don't need to run: tests untouched by the changes since
+ * {@code impact.base}, and tests with a cached pass when {@code impact.cache=true}. Without either property every
+ * test runs.
+ * <p>
+ * Registered through {@code META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter}.
+ */
+public class TestImpactFilter implements PostDiscoveryFilter {
+    private static final Set<String> REPORTED = ConcurrentHashMap.newKeySet();
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        TestImpactAnalysis analysis = TestImpactAnalysis.get();
+        if (!analysis.isEnabled() || !descriptor.isTest() || !(descriptor.getSource().orElse(null) instanceof MethodSource)) {
+            return FilterResult.included("impact analysis disabled or not a test method");
+        }
+        MethodSource method = (MethodSource) descriptor.getSource().get();
+        String test = method.getClassName() + "#" + method.getMethodName();
+        if (analysis.isSelectionEnabled() && !analysis.isImpacted(method.getClassName(), method.getMethodName())) {
+            report(test, "not affected by the changes");
+            return FilterResult.excluded("not affected by the changes");
+        }
+        if (analysis.isCacheEnabled() && analysis.hasCachedPass(method.getClassName(), method.getMethodName())) {
+            report(test, "passed before with the same inputs");
+            return FilterResult.excluded("passed before with the same inputs");
+        }
+        return FilterResult.included("affected by the changes");
+    }
+
+    /**
+     * Logs a skipped test once, although surefire discovers the tests more than once per run.
+     */
+    private static void report(String test, String reason) {
+        if (REPORTED.add(test)) {
+            System.out.println("Skipping " + test + ": " + reason);
+        }
+    }
+}
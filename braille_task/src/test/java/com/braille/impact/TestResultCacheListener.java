@@ -0,0 +1,31 @@
+package com.braille.impact;
+
+import org.junit.platform.engine.TestExecutionResult;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.TestExecutionListener;
+import org.junit.platform.launcher.TestIdentifier;
+import org.junit.platform.launcher.TestPlan;
+
+/**
+ * Feeds test results into the {@link TestImpactAnalysis} result cache when {@code impact.cache=true}
+ * and writes the cache when the run ends.
+ * <p>
+ * Registered through {@code META-INF/services/org.junit.platform.launcher.TestExecutionListener}.
+ */
+public class TestResultCacheListener implements TestExecutionListener {
+
+    @Override
+    public void executionFinished(TestIdentifier testIdentifier, TestExecutionResult testExecutionResult) {
+        TestImpactAnalysis analysis = TestImpactAnalysis.get();
+        if (analysis.isCacheEnabled() && testIdentifier.isTest() && testIdentifier.getSource().orElse(null) instanceof MethodSource) {
+            MethodSource method = (MethodSource) testIdentifier.getSource().get();
+            analysis.recordResult(method.getClassName(), method.getMethodName(),
+                    testExecutionResult.getStatus() == TestExecutionResult.Status.SUCCESSFUL);
+        }
+    }
+
+    @Override
+    public void testPlanExecutionFinished(TestPlan testPlan) {
+        TestImpactAnalysis.get().saveCache();
+    }
+}
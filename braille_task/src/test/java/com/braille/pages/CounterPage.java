@@ -1,5 +1,7 @@
 package com.braille.pages;
 
+import com.braille.utility.MutationWait;
+import com.braille.utility.PagePerformance;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.support.ui.WebDriverWait;
@@ -7,6 +9,8 @@ import org.openqa.selenium.support.ui.WebDriverWait;
 public class CounterPage {
     private WebDriver driver;
     private WebDriverWait wait;
+    private final ElementCache elements;
+    private final MutationWait domWait;
 
     private final By COUNTER_HEADER = By.tagName("h1");
     private final By COUNTER_VALUE = By.xpath("//p[@role='status']");
@@ -15,17 +19,37 @@ public class CounterPage {
     public CounterPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        this.elements = new ElementCache(driver);
+        this.domWait = new MutationWait(driver);
+    }
+
+    /**
+     * Waits until the "Click me" button is rendered and captures the page's timings as {@code CounterPage.load}.
+     */
+    public void waitForPageToLoad() {
+        domWait.untilVisible("CounterPage.waitForPageToLoad", COUNTER_INCREMENT_BUTTON);
+        PagePerformance.capture(driver, "CounterPage.load");
     }
 
     public String getCounterHeaderText() {
-        return driver.findElement(COUNTER_HEADER).getText();
+        return elements.get(COUNTER_HEADER).getText();
     }
 
     public String getCOUNTER_VALUE() {
-        return driver.findElement(COUNTER_VALUE).getText();
+        return elements.get(COUNTER_VALUE).getText();
     }
 
+    /**
+     * Clicks the "Click me" button and waits until the rendered counter value has changed,
+     * so the value read afterwards reflects the click.
+     */
     public void clickIncrementButton() {
-        driver.findElement(COUNTER_INCREMENT_BUTTON).click();
+        String previousValue = getCOUNTER_VALUE();
+        elements.get(COUNTER_INCREMENT_BUTTON).click();
+        domWait.untilTextChanges("CounterPage.clickIncrementButton", COUNTER_VALUE, previousValue);
+    }
+
+    public ElementCache getElementCache() {
+        return elements;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,124 @@
+package com.braille.pages;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.StaleElementReferenceException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.WrapsElement;
+import org.openqa.selenium.interactions.Locatable;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Lazily resolves and caches the elements of a page object.
+ * {@link #get(By)} returns a handle that looks the element up on first use only and reuses it afterwards.
+ * When the cached element has gone stale, e.g. because the page re-rendered, the handle looks it up again
+ * and retries the call once. Page objects call {@link #invalidate()} whenever they navigate away.
+ * <p>
+ * Like the page objects themselves, a cache is meant to be used by a single test thread.
+ */
+public class ElementCache {
+    private final WebDriver driver;
+    private final Map<By, WebElement> handles = new HashMap<>();
+    private final Map<By, WebElement> resolved = new HashMap<>();
+    private long hits;
+    private long misses;
+
+    public ElementCache(WebDriver driver) {
+        this.driver = driver;
+    }
+
+    /**
+     * Returns a lazily resolved handle for the element matched by the given locator.
+     * No WebDriver call is made until a method is invoked on the handle.
+     *
+     * @param locator The locator of the element.
+     * @return A {@link WebElement} that resolves itself on demand and recovers from staleness.
+     */
+    public WebElement get(By locator) {
+        return handles.computeIfAbsent(locator, this::createHandle);
+    }
+
+    /**
+     * Caches an element that was already found, e.g. by a wait, so the next call on its handle needs no lookup.
+     *
+     * @param locator The locator the element matches.
+     * @param element The element.
+     * @return The lazily resolved handle for the locator.
+     */
+    public WebElement put(By locator, WebElement element) {
+        resolved.put(locator, element);
+        return get(locator);
+    }
+
+    /**
+     * Drops every cached element, so the next call on a handle looks its element up again.
+     */
+    public void invalidate() {
+        resolved.clear();
+    }
+
+    public long getHits() {
+        return hits;
+    }
+
+    public long getMisses() {
+        return misses;
+    }
+
+    private WebElement resolve(By locator) {
+        WebElement element = resolved.get(locator);
+        if (element != null) {
+            hits++;
+            return element;
+        }
+        misses++;
+        element = driver.findElement(locator);
+        resolved.put(locator, element);
+        return element;
+    }
+
+    private WebElement createHandle(By locator) {
+        InvocationHandler handler = new CachedElementHandler(locator);
+        return (WebElement) Proxy.newProxyInstance(
+                ElementCache.class.getClassLoader(),
+                new Class<?>[]{WebElement.class, WrapsElement.class, Locatable.class},
+                handler);
+    }
+
+    private class CachedElementHandler implements InvocationHandler {
+        private final By locator;
+
+        private CachedElementHandler(By locator) {
+            this.locator = locator;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            if ("getWrappedElement".equals(method.getName())) {
+                return resolve(locator);
+            }
+            if ("toString".equals(method.getName())) {
+                return "Cached element [" + locator + "]";
+            }
+            try {
+                return method.invoke(resolve(locator), args);
+            } catch (InvocationTargetException e) {
+                if (!(e.getCause() instanceof StaleElementReferenceException)) {
+                    throw e.getCause();
+                }
+            }
+            resolved.remove(locator);
+            try {
+                return method.invoke(resolve(locator), args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+}
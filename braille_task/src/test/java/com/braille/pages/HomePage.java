@@ -1,9 +1,10 @@
 package com.braille.pages;
 
+import com.braille.utility.MutationWait;
+import com.braille.utility.PagePerformance;
 import org.openqa.selenium.By;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.util.List;
@@ -11,6 +12,8 @@ import java.util.List;
 public class HomePage {
     private WebDriver driver;
     private WebDriverWait wait;
+    private final ElementCache elements;
+    private final MutationWait domWait;
 
     private final By MENU_ITEMS = By.cssSelector(".nav-item .nav-link");
     private final By HOME_HEADER = By.tagName("h1");
@@ -22,6 +25,8 @@ public class HomePage {
     public HomePage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        this.elements = new ElementCache(driver);
+        this.domWait = new MutationWait(driver);
     }
 
     public List<WebElement> getMENU_ITEMS() {
@@ -29,43 +34,58 @@ public class HomePage {
     }
 
     public String getHomeHeaderText() {
-        return driver.findElement(HOME_HEADER).getText();
+        return elements.get(HOME_HEADER).getText();
     }
 
     public boolean isWelcomeTextDisplayed() {
-        return driver.findElement(WELCOME_TEXT).isDisplayed();
+        return elements.get(WELCOME_TEXT).isDisplayed();
     }
 
     public WebElement getABOUT_LINK() {
-        return driver.findElement(ABOUT_LINK);
+        return elements.get(ABOUT_LINK);
     }
     /**
      * Navigates to the Weather page by clicking the "Weather" link in the navigation bar.
-     * Waits for the Weather page to load by checking the visibility of the weather link.
+     * Waits for the weather link to become visible, resolving as soon as it is rendered.
+     * The Weather page's timings are measured from the click, see {@link WeatherPage#getWEATHER_TABLE()}.
      *
      * @return A new instance of the WeatherPage class representing the Weather page.
      */
     public WeatherPage navigateToWeather() {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(WEATHER_LINK));
-        driver.findElement(WEATHER_LINK).click();
+        WebElement weatherLink = domWait.untilVisible("HomePage.navigateToWeather", WEATHER_LINK);
+        PagePerformance.markNavigation(driver);
+        weatherLink.click();
+        elements.invalidate();
         return new WeatherPage(driver, wait);
     }
     /**
      * Navigates to the Counter page by clicking the "Counter" link in the navigation bar.
-     * Waits for the Counter page to load by checking the visibility of the counter link.
+     * Waits for the counter link to become visible, resolving as soon as it is rendered,
+     * and then for the Counter page to load.
      *
      * @return A new instance of the CounterPage class representing the Counter page.
      */
     public CounterPage navigateToCounter() {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(COUNTER_LINK));
-        driver.findElement(COUNTER_LINK).click();
-        return new CounterPage(driver, wait);
+        WebElement counterLink = domWait.untilVisible("HomePage.navigateToCounter", COUNTER_LINK);
+        PagePerformance.markNavigation(driver);
+        counterLink.click();
+        elements.invalidate();
+        CounterPage counterPage = new CounterPage(driver, wait);
+        counterPage.waitForPageToLoad();
+        return counterPage;
     }
     /**
      * Waits for the Home page to load by checking the presence of the navigation menu items.
      * This method should be called after navigating to the Home page to ensure that the page has fully loaded.
+     * Any cached elements from a previous visit are dropped, and the page load's timings are captured as {@code HomePage.load}.
      */
     public void waitForPageToLoad() {
-        wait.until(ExpectedConditions.presenceOfElementLocated(By.cssSelector(".nav-item .nav-link")));
+        elements.invalidate();
+        domWait.untilPresent("HomePage.waitForPageToLoad", MENU_ITEMS);
+        PagePerformance.capture(driver, "HomePage.load");
+    }
+
+    public ElementCache getElementCache() {
+        return elements;
     }
 }
\ No newline at end of file
@@ -0,0 +1,76 @@
+package com.braille.pages;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The row-level difference between two {@link TableSnapshot}s. Row numbers are zero-based positions: added and
+ * changed rows in the newer snapshot, removed rows in the older one.
+ */
+public final class TableDiff {
+    private final List<Integer> added;
+    private final List<Integer> removed;
+    private final List<Integer> changed;
+
+    private TableDiff(List<Integer> added, List<Integer> removed, List<Integer> changed) {
+        this.added = Collections.unmodifiableList(added);
+        this.removed = Collections.unmodifiableList(removed);
+        this.changed = Collections.unmodifiableList(changed);
+    }
+
+    static TableDiff between(long[] oldKeys, long[] oldHashes, long[] newKeys, long[] newHashes) {
+        Map<Long, Deque<Integer>> oldRowsByKey = new HashMap<>();
+        for (int row = 0; row < oldKeys.length; row++) {
+            oldRowsByKey.computeIfAbsent(oldKeys[row], key -> new ArrayDeque<>()).add(row);
+        }
+        List<Integer> added = new ArrayList<>();
+        List<Integer> changed = new ArrayList<>();
+        boolean[] matched = new boolean[oldKeys.length];
+        for (int row = 0; row < newKeys.length; row++) {
+            Deque<Integer> candidates = oldRowsByKey.get(newKeys[row]);
+            Integer oldRow = candidates != null ? candidates.poll() : null;
+            if (oldRow == null) {
+                added.add(row);
+            } else {
+                matched[oldRow] = true;
+                if (oldHashes[oldRow] != newHashes[row]) {
+                    changed.add(row);
+                }
+            }
+        }
+        List<Integer> removed = new ArrayList<>();
+        for (int row = 0; row < matched.length; row++) {
+            if (!matched[row]) {
+                removed.add(row);
+            }
+        }
+        return new TableDiff(added, removed, changed);
+    }
+
+    public List<Integer> getAdded() {
+        return added;
+    }
+
+    public List<Integer> getRemoved() {
+        return removed;
+    }
+
+    public List<Integer> getChanged() {
+        return changed;
+    }
+
+    public boolean isEmpty() {
+        return added.isEmpty() && removed.isEmpty() && changed.isEmpty();
+    }
+
+    @Override
+    public String toString() {
+        return added.size() + " added " + added + ", " + removed.size() + " removed " + removed + ", "
+                + changed.size() + " changed " + changed;
+    }
+}
@@ -0,0 +1,65 @@
+package com.braille.pages;
+
+import com.braille.utility.MutationWait;
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+
+import java.util.List;
+
+/**
+ * Moves a paginated or virtualized table to its next set of rows while a {@link TableSnapshot} is captured.
+ */
+@FunctionalInterface
+public interface TablePager {
+
+    /**
+     * For tables that render all their rows at once.
+     */
+    TablePager SINGLE_PAGE = (driver, tableXpath) -> false;
+
+    /**
+     * Shows the next rows.
+     *
+     * @param driver     The browser session showing the table.
+     * @param tableXpath The XPath of the table.
+     * @return {@code false} if the last rows were already shown.
+     */
+    boolean advance(WebDriver driver, String tableXpath);
+
+    /**
+     * Pages by clicking a "next" control until it disappears or is disabled, waiting for the first row to change
+     * after every click.
+     */
+    static TablePager clickNext(By nextButton) {
+        return (driver, tableXpath) -> {
+            List<WebElement> buttons = driver.findElements(nextButton);
+            if (buttons.isEmpty() || !buttons.get(0).isEnabled() || buttons.get(0).getAttribute("disabled") != null) {
+                return false;
+            }
+            By firstRow = By.xpath(tableXpath + "/tbody/tr[1]");
+            List<WebElement> rows = driver.findElements(firstRow);
+            String previous = rows.isEmpty() ? "" : rows.get(0).getText();
+            buttons.get(0).click();
+            new MutationWait(driver).untilTextChanges(firstRow, previous);
+            return true;
+        };
+    }
+
+    /**
+     * Pages a virtualized table by scrolling its scroll container one screen at a time until it can't scroll further.
+     * The table should number its rows with {@code aria-rowindex} or {@code data-row-index}, so rows that stay
+     * visible across two scroll positions are only counted once.
+     */
+    static TablePager scroll(By scrollContainer) {
+        return (driver, tableXpath) -> {
+            Object scrolled = ((JavascriptExecutor) driver).executeAsyncScript(
+                    "var container = arguments[0], done = arguments[arguments.length - 1], before = container.scrollTop;" +
+                    "container.scrollTop = before + container.clientHeight;" +
+                    "requestAnimationFrame(function () { requestAnimationFrame(function () { done(container.scrollTop > before); }); });",
+                    driver.findElement(scrollContainer));
+            return Boolean.TRUE.equals(scrolled);
+        };
+    }
+}
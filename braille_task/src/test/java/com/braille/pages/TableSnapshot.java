@@ -0,0 +1,105 @@
+package com.braille.pages;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * Row fingerprints of a table, computed in the browser. For every row the browser hashes the first cell (the row's
+ * key, e.g. the date) and the text of the whole row into 53-bit numbers and only those numbers cross the wire, so a
+ * snapshot costs a few bytes per row however wide the table is. Two snapshots are compared with {@link #diff}.
+ */
+public final class TableSnapshot {
+    /**
+     * Returns a flat array of {@code [rowIndex, keyHash, rowHash]} triples for the body rows of the table matched by
+     * the XPath in {@code arguments[0]}. The row index comes from {@code aria-rowindex} or {@code data-row-index}
+     * and is -1 when the table doesn't number its rows. Hashing is cyrb53 over the trimmed cell texts.
+     */
+    private static final String FINGERPRINT_SCRIPT =
+            "var table = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "if (!table || !table.tBodies.length) { return []; }" +
+            "function hash(s) {" +
+            "  var h1 = 0xdeadbeef, h2 = 0x41c6ce57;" +
+            "  for (var i = 0; i < s.length; i++) { var c = s.charCodeAt(i); h1 = Math.imul(h1 ^ c, 2654435761); h2 = Math.imul(h2 ^ c, 1597334677); }" +
+            "  h1 = Math.imul(h1 ^ (h1 >>> 16), 2246822507) ^ Math.imul(h2 ^ (h2 >>> 13), 3266489909);" +
+            "  h2 = Math.imul(h2 ^ (h2 >>> 16), 2246822507) ^ Math.imul(h1 ^ (h1 >>> 13), 3266489909);" +
+            "  return 4294967296 * (2097151 & h2) + (h1 >>> 0);" +
+            "}" +
+            "var rows = table.tBodies[0].rows, out = new Array(rows.length * 3);" +
+            "for (var i = 0; i < rows.length; i++) {" +
+            "  var cells = rows[i].cells, key = cells.length ? cells[0].textContent.trim() : '', text = key;" +
+            "  for (var j = 1; j < cells.length; j++) { text += '\\u001f' + cells[j].textContent.trim(); }" +
+            "  var index = rows[i].getAttribute('aria-rowindex') || rows[i].getAttribute('data-row-index');" +
+            "  out[3 * i] = index === null ? -1 : parseInt(index, 10);" +
+            "  out[3 * i + 1] = hash(key);" +
+            "  out[3 * i + 2] = hash(text);" +
+            "}" +
+            "return out;";
+
+    private final long[] keyHashes;
+    private final long[] rowHashes;
+
+    private TableSnapshot(long[] keyHashes, long[] rowHashes) {
+        this.keyHashes = keyHashes;
+        this.rowHashes = rowHashes;
+    }
+
+    /**
+     * Fingerprints every row of a table, page by page.
+     *
+     * @param driver     The browser session showing the table.
+     * @param tableXpath The XPath of the table.
+     * @param pager      Shows the next rows of a paginated or virtualized table, or {@link TablePager#SINGLE_PAGE}.
+     * @return The fingerprints in row order.
+     */
+    public static TableSnapshot capture(WebDriver driver, String tableXpath, TablePager pager) {
+        long[] keys = new long[64];
+        long[] hashes = new long[64];
+        BitSet present = new BitSet();
+        int offset = 0;
+        do {
+            List<?> triples = (List<?>) ((JavascriptExecutor) driver).executeScript(FINGERPRINT_SCRIPT, tableXpath);
+            int rowsOnPage = triples.size() / 3;
+            for (int i = 0; i < rowsOnPage; i++) {
+                long rowIndex = ((Number) triples.get(3 * i)).longValue();
+                int index = rowIndex >= 0 ? (int) rowIndex : offset + i;
+                if (index >= keys.length) {
+                    int capacity = Math.max(keys.length * 2, index + 1);
+                    keys = Arrays.copyOf(keys, capacity);
+                    hashes = Arrays.copyOf(hashes, capacity);
+                }
+                keys[index] = ((Number) triples.get(3 * i + 1)).longValue();
+                hashes[index] = ((Number) triples.get(3 * i + 2)).longValue();
+                present.set(index);
+            }
+            offset += rowsOnPage;
+        } while (pager.advance(driver, tableXpath));
+
+        long[] keyHashes = new long[present.cardinality()];
+        long[] rowHashes = new long[keyHashes.length];
+        int row = 0;
+        for (int index = present.nextSetBit(0); index >= 0; index = present.nextSetBit(index + 1)) {
+            keyHashes[row] = keys[index];
+            rowHashes[row++] = hashes[index];
+        }
+        return new TableSnapshot(keyHashes, rowHashes);
+    }
+
+    public int size() {
+        return keyHashes.length;
+    }
+
+    /**
+     * Compares this snapshot with an earlier one. Rows are matched by key; when several rows share a key they are
+     * matched in order of appearance.
+     *
+     * @param previous The earlier snapshot.
+     * @return The rows added, removed and changed since {@code previous}.
+     */
+    public TableDiff diff(TableSnapshot previous) {
+        return TableDiff.between(previous.keyHashes, previous.rowHashes, keyHashes, rowHashes);
+    }
+}
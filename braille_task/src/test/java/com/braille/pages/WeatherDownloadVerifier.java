@@ -0,0 +1,173 @@
+package com.braille.pages;
+
+import com.braille.api.WeatherForecastCodec;
+import com.braille.utility.WeatherCsvFiles;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Checks a downloaded forecast file against the rendered weather table in constant memory. The file, either CSV
+ * with a header line or a JSON array of forecasts, is parsed as a stream; the table is read in batches of
+ * {@code batchSize} rows. Both sides are reduced to a row count and a SHA-256 checksum over their rows in order,
+ * with dates normalized to {@code YYYY-MM-DD} and temperatures compared as numbers, so only two small values are
+ * compared at the end.
+ */
+public class WeatherDownloadVerifier {
+    private final WeatherPage weatherPage;
+    private final int batchSize;
+
+    public WeatherDownloadVerifier(WeatherPage weatherPage, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, but was: " + batchSize);
+        }
+        this.weatherPage = weatherPage;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Fails if the downloaded file and the table differ in row count or content.
+     *
+     * @param downloadedFile The file saved by the browser.
+     * @return The number of rows in the file.
+     */
+    public long verify(Path downloadedFile) throws IOException {
+        Checksum file = checksumFile(downloadedFile);
+        Checksum table = checksumTable();
+        assertEquals(table.rows, file.rows, "Downloaded file " + downloadedFile.getFileName() + " has a different number of rows than the weather table");
+        assertEquals(table.hex(), file.hex(), "Downloaded file " + downloadedFile.getFileName() + " does not match the weather table");
+        return file.rows;
+    }
+
+    Checksum checksumTable() {
+        Checksum checksum = new Checksum();
+        int from = 0;
+        List<WeatherTableRow> batch;
+        do {
+            batch = weatherPage.captureTableRows(from, batchSize);
+            for (WeatherTableRow row : batch) {
+                checksum.add(row.date, row.temperatureC, row.temperatureF, row.summary);
+            }
+            from += batch.size();
+        } while (batch.size() == batchSize);
+        return checksum;
+    }
+
+    static Checksum checksumFile(Path file) throws IOException {
+        Checksum checksum = new Checksum();
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(file))) {
+            in.mark(3);
+            if (in.read() != 0xEF || in.read() != 0xBB || in.read() != 0xBF) {
+                in.reset();
+            }
+            in.mark(1024);
+            int first;
+            do {
+                first = in.read();
+            } while (first != -1 && Character.isWhitespace(first));
+            in.reset();
+            if (first == '[') {
+                WeatherForecastCodec.decodeArray(in, (id, date, temperatureC, temperatureF, summary) -> checksum.add(
+                        date > 0 ? WeatherForecastCodec.formatDate(date) : "",
+                        temperatureC == WeatherForecastCodec.MISSING ? WeatherTableRow.MISSING : temperatureC,
+                        temperatureF == WeatherForecastCodec.MISSING ? WeatherTableRow.MISSING : temperatureF,
+                        summary == null ? "" : summary));
+            } else {
+                BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+                String line = reader.readLine();
+                if (line != null && isHeader(line)) {
+                    line = reader.readLine();
+                }
+                for (; line != null; line = reader.readLine()) {
+                    if (!line.trim().isEmpty()) {
+                        String[] fields = Arrays.copyOf(line.split(",", -1), 4);
+                        checksum.add(unquote(fields[0]), WeatherTableRow.parseTemperature(unquote(fields[1])),
+                                WeatherTableRow.parseTemperature(unquote(fields[2])), unquote(fields[3]));
+                    }
+                }
+            }
+        }
+        return checksum;
+    }
+
+    /**
+     * @return Whether the line is {@link WeatherCsvFiles#HEADER}, with or without quoted fields, or another header
+     * whose first column is not a date.
+     */
+    private static boolean isHeader(String line) {
+        String[] fields = line.split(",", -1);
+        StringBuilder unquoted = new StringBuilder();
+        for (String field : fields) {
+            unquoted.append(unquoted.length() == 0 ? "" : ",").append(unquote(field));
+        }
+        String first = unquote(fields[0]);
+        return unquoted.toString().equalsIgnoreCase(WeatherCsvFiles.HEADER) || (!first.isEmpty() && !Character.isDigit(first.charAt(0)));
+    }
+
+    private static String unquote(String field) {
+        if (field == null) {
+            return "";
+        }
+        String value = field.trim();
+        return value.length() >= 2 && value.startsWith("\"") && value.endsWith("\"") ? value.substring(1, value.length() - 1) : value;
+    }
+
+    /**
+     * A running row count and digest over normalized rows.
+     */
+    static final class Checksum {
+        private final MessageDigest digest;
+        long rows;
+
+        Checksum() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        void add(String date, int temperatureC, int temperatureF, String summary) {
+            String row = normalizeDate(date.trim()) + '\t' + format(temperatureC) + '\t' + format(temperatureF) + '\t' + summary.trim() + '\n';
+            digest.update(row.getBytes(StandardCharsets.UTF_8));
+            rows++;
+        }
+
+        private static String format(int temperature) {
+            return temperature == WeatherTableRow.MISSING ? "" : String.valueOf(temperature);
+        }
+
+        String hex() {
+            StringBuilder hex = new StringBuilder();
+            for (byte b : digest.digest()) {
+                hex.append(String.format("%02x", b));
+            }
+            return hex.toString();
+        }
+
+        /**
+         * Turns the table's {@code MM/DD/YYYY} and ISO dates or timestamps into {@code YYYY-MM-DD}.
+         */
+        static String normalizeDate(String date) {
+            if (date.length() == 10 && date.charAt(2) == '/' && date.charAt(5) == '/') {
+                return date.substring(6) + "-" + date.substring(0, 2) + "-" + date.substring(3, 5);
+            }
+            if (date.length() > 10 && date.charAt(4) == '-' && date.charAt(7) == '-') {
+                return date.substring(0, 10);
+            }
+            return date;
+        }
+    }
+}
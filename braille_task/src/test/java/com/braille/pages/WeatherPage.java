@@ -1,56 +1,91 @@
 package com.braille.pages;
 
+import com.braille.utility.MutationWait;
+import com.braille.utility.PagePerformance;
 import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
 import org.openqa.selenium.WebDriver;
 import org.openqa.selenium.WebElement;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
 import java.util.ArrayList;
 import java.util.List;
 
 public class WeatherPage {
+    /**
+     * Reads the body rows of the table matched by the XPath in {@code arguments[0]} and returns
+     * the trimmed text of each cell as an array of arrays, so the whole table crosses the wire in one call.
+     * The optional {@code arguments[1]} and {@code arguments[2]} select a slice: the first row and the row count.
+     */
+    private static final String READ_TABLE_SCRIPT =
+            "var table = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "if (!table || !table.tBodies.length) { return []; }" +
+            "var rows = table.tBodies[0].rows, from = Math.min(arguments[1] || 0, rows.length);" +
+            "var to = arguments[2] == null ? rows.length : Math.min(rows.length, from + arguments[2]), out = new Array(to - from);" +
+            "for (var i = from; i < to; i++) {" +
+            "  var cells = rows[i].cells, row = new Array(cells.length);" +
+            "  for (var j = 0; j < cells.length; j++) { row[j] = cells[j].textContent.trim(); }" +
+            "  out[i - from] = row;" +
+            "}" +
+            "return out;";
+    private static final String COUNT_TABLE_ROWS_SCRIPT =
+            "var table = document.evaluate(arguments[0], document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "return table && table.tBodies.length ? table.tBodies[0].rows.length : 0;";
+    private static final String WEATHER_TABLE_XPATH = "//table[@class='table']";
+
     private WebDriver driver;
     private WebDriverWait wait;
+    private final ElementCache elements;
+    private final MutationWait domWait;
 
     public final By WEATHER_HEADER = By.xpath("//h1[text()='Weather']");
     private final By DESCRIPTION_TEXT = By.xpath("//p[contains(text(), 'This component demonstrates showing data.')]");
     private final By DOWNLOAD_BUTTON = By.xpath("//button[text()='Download Forecast Data']");
     private final By FILE_INPUT = By.xpath("//input[@type='file']");
-    public final By WEATHER_TABLE = By.xpath("//table[@class='table']");
+    public final By WEATHER_TABLE = By.xpath(WEATHER_TABLE_XPATH);
 
     public WeatherPage(WebDriver driver, WebDriverWait wait) {
         this.driver = driver;
         this.wait = wait;
+        this.elements = new ElementCache(driver);
+        this.domWait = new MutationWait(driver);
     }
 
     public String getWeatherHeaderText() {
-        return driver.findElement(WEATHER_HEADER).getText();
+        return elements.get(WEATHER_HEADER).getText();
     }
 
     public boolean isDescriptionTextDisplayed() {
-        return driver.findElement(DESCRIPTION_TEXT).isDisplayed();
+        return elements.get(DESCRIPTION_TEXT).isDisplayed();
     }
 
     public boolean isDownloadButtonDisplayed() {
-        return driver.findElement(DOWNLOAD_BUTTON).isDisplayed();
+        return elements.get(DOWNLOAD_BUTTON).isDisplayed();
     }
 
     public boolean isFileInputDisplayed() {
-        return driver.findElement(FILE_INPUT).isDisplayed();
+        return elements.get(FILE_INPUT).isDisplayed();
     }
 
+    /**
+     * Waits until the weather table is visible, resolving as soon as it is rendered.
+     * The first time after navigating here, the time to the table being visible is captured as
+     * {@code WeatherPage.WEATHER_TABLE}.
+     *
+     * @return The weather table.
+     */
     public WebElement getWEATHER_TABLE() {
-        wait.until(ExpectedConditions.visibilityOfElementLocated(WEATHER_TABLE));
-        return driver.findElement(WEATHER_TABLE);
+        WebElement table = elements.put(WEATHER_TABLE, domWait.untilVisible("WeatherPage.getWEATHER_TABLE", WEATHER_TABLE));
+        PagePerformance.capture(driver, "WeatherPage.WEATHER_TABLE");
+        return table;
     }
 
     public void uploadFile(String filePath) {
-        driver.findElement(FILE_INPUT).sendKeys(filePath);
+        elements.get(FILE_INPUT).sendKeys(filePath);
     }
 
     public void clickDownloadButton() {
-        driver.findElement(DOWNLOAD_BUTTON).click();
+        elements.get(DOWNLOAD_BUTTON).click();
     }
 
     public List<WebElement> getWeatherTableRows() {
@@ -68,16 +103,67 @@ public class WeatherPage {
      * @return A list of strings containing the text data from the weather table.
      */
     public List<String> captureTableData() {
-        List<String> data = new ArrayList<>();
-        List<WebElement> tableRows = driver.findElements(By.xpath("//table[@class='table']/tbody/tr"));
-        for (WebElement row : tableRows) {
-            data.add(row.getText());
+        List<WeatherTableRow> rows = captureTableRows();
+        List<String> data = new ArrayList<>(rows.size());
+        for (WeatherTableRow row : rows) {
+            data.add(row.toText());
         }
         return data;
     }
 
+    /**
+     * Reads the whole weather table in a single script execution instead of one WebDriver call per row and cell.
+     *
+     * @return The table body rows, in display order.
+     */
+    public List<WeatherTableRow> captureTableRows() {
+        return toRows(((JavascriptExecutor) driver).executeScript(READ_TABLE_SCRIPT, WEATHER_TABLE_XPATH));
+    }
+
+    /**
+     * Reads a slice of the weather table in a single script execution, so very large tables can be read in batches.
+     *
+     * @param from  The index of the first body row to read.
+     * @param count The maximum number of rows to read.
+     * @return The rows in display order; fewer than {@code count} at the end of the table.
+     */
+    public List<WeatherTableRow> captureTableRows(int from, int count) {
+        return toRows(((JavascriptExecutor) driver).executeScript(READ_TABLE_SCRIPT, WEATHER_TABLE_XPATH, from, count));
+    }
+
+    public int countTableRows() {
+        return ((Number) ((JavascriptExecutor) driver).executeScript(COUNT_TABLE_ROWS_SCRIPT, WEATHER_TABLE_XPATH)).intValue();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<WeatherTableRow> toRows(Object result) {
+        List<List<String>> table = (List<List<String>>) result;
+        List<WeatherTableRow> rows = new ArrayList<>(table.size());
+        for (List<String> cells : table) {
+            rows.add(WeatherTableRow.fromCells(cells));
+        }
+        return rows;
+    }
+
+    /**
+     * Fingerprints the weather table in the browser, see {@link TableSnapshot}.
+     *
+     * @return One key hash and one row hash per table row.
+     */
+    public TableSnapshot snapshotTable() {
+        return snapshotTable(TablePager.SINGLE_PAGE);
+    }
+
+    public TableSnapshot snapshotTable(TablePager pager) {
+        return TableSnapshot.capture(driver, WEATHER_TABLE_XPATH, pager);
+    }
+
     public boolean isDownloadButtonEnabled() {
-        return driver.findElement(DOWNLOAD_BUTTON).isEnabled();
+        return elements.get(DOWNLOAD_BUTTON).isEnabled();
+    }
+
+    public ElementCache getElementCache() {
+        return elements;
     }
 
     public List<WebElement> getErrorMessages() {
@@ -0,0 +1,71 @@
+package com.braille.pages;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Compares an uploaded weather CSV with the rendered weather table row by row. The file is read line by line and
+ * the table in batches of {@code batchSize} rows per script call, so neither side is ever held in memory as a whole.
+ */
+public class WeatherTableCsvVerifier {
+    private final WeatherPage weatherPage;
+    private final int batchSize;
+
+    public WeatherTableCsvVerifier(WeatherPage weatherPage, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be at least 1, but was: " + batchSize);
+        }
+        this.weatherPage = weatherPage;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Fails on the first table row that differs from its CSV line, or if the table has more or fewer rows than the file.
+     *
+     * @param csvFile A CSV with a header line followed by {@code date,temperatureC,temperatureF,summary} lines.
+     * @return The number of rows that were compared.
+     */
+    public long verify(Path csvFile) throws IOException {
+        long index = 0;
+        try (BufferedReader reader = Files.newBufferedReader(csvFile, StandardCharsets.UTF_8)) {
+            reader.readLine();
+            String line = reader.readLine();
+            while (line != null) {
+                List<WeatherTableRow> batch = weatherPage.captureTableRows((int) index, batchSize);
+                if (batch.isEmpty()) {
+                    fail("Weather table ends after " + index + " rows, but " + csvFile.getFileName() + " has more: " + line);
+                }
+                for (WeatherTableRow row : batch) {
+                    if (line == null) {
+                        fail("Weather table has more rows than the " + index + " in " + csvFile.getFileName() + ", first extra row: " + row);
+                    }
+                    compare(index, line, row);
+                    index++;
+                    line = reader.readLine();
+                }
+            }
+        }
+        int tableRows = weatherPage.countTableRows();
+        if (tableRows != index) {
+            fail("Weather table has " + tableRows + " rows, but " + csvFile.getFileName() + " has " + index);
+        }
+        return index;
+    }
+
+    private static void compare(long index, String line, WeatherTableRow row) {
+        String[] fields = line.split(",", -1);
+        if (fields.length != 4
+                || !fields[0].trim().equals(row.date)
+                || row.temperatureC == WeatherTableRow.MISSING || WeatherTableRow.parseTemperature(fields[1]) != row.temperatureC
+                || row.temperatureF == WeatherTableRow.MISSING || WeatherTableRow.parseTemperature(fields[2]) != row.temperatureF
+                || !fields[3].trim().equals(row.summary)) {
+            fail("Weather table row " + (index + 1) + " is '" + row.toText() + "' but the uploaded file has '" + line + "'");
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package com.braille.pages;
+
+import java.util.List;
+
+/**
+ * One data row of the weather forecast table. Temperatures are parsed to numbers; the other cells hold their
+ * rendered text.
+ */
+public class WeatherTableRow {
+    /**
+     * The temperature of a cell that is not a whole number.
+     */
+    public static final int MISSING = Integer.MIN_VALUE;
+
+    public final String date;
+    public final int temperatureC;
+    public final int temperatureF;
+    public final String summary;
+    private final String temperatureCText;
+    private final String temperatureFText;
+
+    public WeatherTableRow(String date, String temperatureC, String temperatureF, String summary) {
+        this.date = date;
+        this.temperatureC = parseTemperature(temperatureC);
+        this.temperatureF = parseTemperature(temperatureF);
+        this.summary = summary;
+        this.temperatureCText = temperatureC;
+        this.temperatureFText = temperatureF;
+    }
+
+    /**
+     * Creates a row from the cell texts in table column order. Missing cells become empty strings.
+     *
+     * @param cells The text of each {@code td} in the row.
+     * @return The row record.
+     */
+    public static WeatherTableRow fromCells(List<String> cells) {
+        return new WeatherTableRow(cell(cells, 0), cell(cells, 1), cell(cells, 2), cell(cells, 3));
+    }
+
+    /**
+     * @param text A temperature as rendered, e.g. {@code -5}.
+     * @return The whole number, or {@link #MISSING} if the text is not one.
+     */
+    static int parseTemperature(String text) {
+        String value = text.trim();
+        int start = value.startsWith("-") ? 1 : 0;
+        if (value.length() == start) {
+            return MISSING;
+        }
+        for (int i = start; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return MISSING;
+            }
+        }
+        try {
+            return Integer.parseInt(value);
+        } catch (NumberFormatException e) {
+            return MISSING;
+        }
+    }
+
+    /**
+     * Returns the row text the way {@code WebElement.getText()} renders a table row: cells separated by single spaces.
+     */
+    public String toText() {
+        return date + " " + temperatureCText + " " + temperatureFText + " " + summary;
+    }
+
+    @Override
+    public String toString() {
+        return toText();
+    }
+
+    private static String cell(List<String> cells, int index) {
+        return index < cells.size() ? cells.get(index) : "";
+    }
+}
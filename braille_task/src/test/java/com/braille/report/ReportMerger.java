@@ -0,0 +1,325 @@
+package com.braille.report;
+
+import com.braille.utility.ConfigurationReader;
+import net.masterthought.cucumber.Configuration;
+import net.masterthought.cucumber.ReportBuilder;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.json.JSONWriter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Merges any number of {@link ResultLog} logs, e.g. one per shard, into the Cucumber JSON report
+ * ({@code report.json}, default {@code target/cucumber.json}) and an HTML summary ({@code report.html}, default
+ * {@code target/cucumber-report.html}).
+ * <p>
+ * The merge reads the logs twice. The first pass only indexes where each scenario's line is, per feature; the second
+ * writes the features in order, reading one scenario at a time. Memory use is therefore a few numbers per scenario,
+ * however large the logs are. The reports are written to temporary files and moved into place, so a reader never sees
+ * half a report. With {@code report.pretty=true}, the cucumber-reporting HTML report is also built from the merged JSON
+ * into {@code report.prettyDir} (default {@code target/cucumber}); that report loads the whole JSON file.
+ * <p>
+ * To merge logs collected from several machines (only those of run {@code report.runId}, when it is set):
+ * {@code mvn -q exec:java -Dexec.classpathScope=test -Dexec.mainClass=com.braille.report.ReportMerger -Dexec.args="<log files or directories>"}
+ */
+public class ReportMerger {
+    private static final Path JSON_REPORT = Paths.get(ConfigurationReader.getProperty("report.json", "target/cucumber.json"));
+    private static final Path HTML_REPORT = Paths.get(ConfigurationReader.getProperty("report.html", "target/cucumber-report.html"));
+    private static final boolean PRETTY = ConfigurationReader.getBooleanProperty("report.pretty", false);
+    private static final Path PRETTY_DIR = Paths.get(ConfigurationReader.getProperty("report.prettyDir", "target/cucumber"));
+
+    private ReportMerger() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        List<Path> logs = new ArrayList<>();
+        for (String arg : args.length == 0 ? new String[]{"target/cucumber-results"} : args) {
+            Path path = Paths.get(arg);
+            String runId = ConfigurationReader.getProperty("report.runId", "");
+            if (Files.isDirectory(path)) {
+                logs.addAll(runId.isEmpty() ? logsIn(path) : logsOfRun(path, runId));
+            } else {
+                logs.add(path);
+            }
+        }
+        merge(logs);
+    }
+
+    /**
+     * @return The {@code .ndjson} logs in the directory, in name order, or none if the directory does not exist.
+     */
+    public static List<Path> logsIn(Path directory) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return Collections.emptyList();
+        }
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".ndjson")).sorted().collect(Collectors.toList());
+        }
+    }
+
+    /**
+     * @return The logs in the directory that belong to the given run, in name order.
+     */
+    public static List<Path> logsOfRun(Path directory, String runId) throws IOException {
+        List<Path> logs = new ArrayList<>();
+        for (Path log : logsIn(directory)) {
+            try (BufferedReader in = Files.newBufferedReader(log, StandardCharsets.UTF_8)) {
+                String first = in.readLine();
+                if (first != null && first.startsWith("{") && runId.equals(new JSONObject(first).optString("run"))) {
+                    logs.add(log);
+                }
+            }
+        }
+        return logs;
+    }
+
+    /**
+     * Merges the logs into the configured report locations.
+     */
+    public static void merge(List<Path> logs) throws IOException {
+        merge(logs, JSON_REPORT, HTML_REPORT);
+        if (PRETTY) {
+            Files.createDirectories(PRETTY_DIR);
+            new ReportBuilder(Collections.singletonList(JSON_REPORT.toString()),
+                    new Configuration(PRETTY_DIR.toFile(), "Braille Works Task")).generateReports();
+        }
+    }
+
+    static Path htmlReport() {
+        return HTML_REPORT;
+    }
+
+    public static void merge(List<Path> logs, Path jsonReport, Path htmlReport) throws IOException {
+        long start = System.nanoTime();
+        Map<String, JSONObject> features = new TreeMap<>();
+        Map<String, List<ScenarioRef>> scenarios = new TreeMap<>();
+        Map<String, Integer> statusCounts = new TreeMap<>();
+        for (int log = 0; log < logs.size(); log++) {
+            index(logs.get(log), log, features, scenarios, statusCounts);
+        }
+
+        Path json = temporarySibling(jsonReport);
+        Path html = temporarySibling(htmlReport);
+        List<FileChannel> channels = new ArrayList<>();
+        int total = 0;
+        try (Writer jsonOut = Files.newBufferedWriter(json, StandardCharsets.UTF_8);
+             Writer htmlOut = Files.newBufferedWriter(html, StandardCharsets.UTF_8)) {
+            for (Path log : logs) {
+                channels.add(FileChannel.open(log, StandardOpenOption.READ));
+            }
+            HtmlSummary summary = new HtmlSummary(htmlOut);
+            summary.start(statusCounts, logs.size());
+            JSONWriter writer = new JSONWriter(jsonOut);
+            writer.array();
+            for (Map.Entry<String, List<ScenarioRef>> feature : scenarios.entrySet()) {
+                JSONObject header = features.get(feature.getKey());
+                if (header == null) {
+                    header = new JSONObject().put("uri", feature.getKey()).put("id", toId(feature.getKey()))
+                            .put("keyword", "Feature").put("name", feature.getKey()).put("line", 1);
+                }
+                writer.object();
+                for (String key : header.keySet()) {
+                    writer.key(key).value(header.get(key));
+                }
+                writer.key("elements").array();
+                summary.startFeature(header.getString("name"), feature.getKey());
+                List<ScenarioRef> refs = feature.getValue();
+                refs.sort(Comparator.comparingInt((ScenarioRef ref) -> ref.line).thenComparingInt(ref -> ref.log));
+                for (ScenarioRef ref : refs) {
+                    JSONObject element = read(channels.get(ref.log), ref).getJSONObject("element");
+                    element.put("id", header.getString("id") + ";" + toId(element.getString("name")));
+                    writer.value(element);
+                    summary.scenario(element);
+                    total++;
+                }
+                writer.endArray();
+                writer.endObject();
+                summary.endFeature();
+            }
+            writer.endArray();
+            summary.end();
+        } finally {
+            for (FileChannel channel : channels) {
+                channel.close();
+            }
+        }
+        moveIntoPlace(json, jsonReport);
+        moveIntoPlace(html, htmlReport);
+        System.out.println("Merged " + total + " scenarios from " + logs.size() + " result logs into " + jsonReport
+                + " and " + htmlReport + " in " + (System.nanoTime() - start) / 1_000_000 + " ms");
+    }
+
+    /**
+     * @return The id Cucumber gives a feature or scenario with this name.
+     */
+    static String toId(String name) {
+        return name.replaceAll("[\\s'_,!]", "-").toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Records where each complete line of the log starts. A last line without a newline belongs to a worker that is
+     * still writing it, and is left out.
+     */
+    private static void index(Path log, int logIndex, Map<String, JSONObject> features,
+                              Map<String, List<ScenarioRef>> scenarios, Map<String, Integer> statusCounts) throws IOException {
+        try (InputStream in = new BufferedInputStream(Files.newInputStream(log), 1 << 16)) {
+            ByteArrayOutputStream line = new ByteArrayOutputStream();
+            long offset = 0;
+            long lineStart = 0;
+            int next;
+            while ((next = in.read()) != -1) {
+                offset++;
+                if (next != '\n') {
+                    line.write(next);
+                    continue;
+                }
+                JSONObject record = new JSONObject(new String(line.toByteArray(), StandardCharsets.UTF_8));
+                if (record.has("run")) {
+                    // The run id only matters when choosing which logs to merge.
+                } else if (record.has("feature")) {
+                    JSONObject feature = record.getJSONObject("feature");
+                    features.putIfAbsent(feature.getString("uri"), feature);
+                } else {
+                    scenarios.computeIfAbsent(record.getString("uri"), uri -> new ArrayList<>()).add(new ScenarioRef(
+                            logIndex, lineStart, line.size(), record.getJSONObject("element").getInt("line")));
+                    statusCounts.merge(record.getString("status"), 1, Integer::sum);
+                }
+                line.reset();
+                lineStart = offset;
+            }
+        }
+    }
+
+    private static JSONObject read(FileChannel channel, ScenarioRef ref) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(ref.length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, ref.offset + buffer.position()) < 0) {
+                throw new IOException("Result log ended inside a scenario at byte " + ref.offset);
+            }
+        }
+        return new JSONObject(new String(buffer.array(), StandardCharsets.UTF_8));
+    }
+
+    private static Path temporarySibling(Path report) throws IOException {
+        Path directory = report.toAbsolutePath().getParent();
+        Files.createDirectories(directory);
+        return directory.resolve(report.getFileName() + "." + UUID.randomUUID() + ".tmp");
+    }
+
+    private static void moveIntoPlace(Path temporary, Path report) throws IOException {
+        try {
+            Files.move(temporary, report, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, report, StandardCopyOption.REPLACE_EXISTING);
+        }
+    }
+
+    /**
+     * Where one scenario's line is in one of the logs.
+     */
+    private static final class ScenarioRef {
+        final int log;
+        final long offset;
+        final int length;
+        final int line;
+
+        ScenarioRef(int log, long offset, int length, int line) {
+            this.log = log;
+            this.offset = offset;
+            this.length = length;
+            this.line = line;
+        }
+    }
+
+    /**
+     * Writes the HTML summary one scenario at a time: the status counts, then a table per feature with each scenario's
+     * status, duration and, for failures, the failing step and the first line of its error.
+     */
+    private static final class HtmlSummary {
+        private final Writer out;
+
+        HtmlSummary(Writer out) {
+            this.out = out;
+        }
+
+        void start(Map<String, Integer> statusCounts, int logs) throws IOException {
+            out.write("<!DOCTYPE html>\n<html><head><meta charset=\"utf-8\"><title>Cucumber report</title><style>"
+                    + "body{font-family:sans-serif}table{border-collapse:collapse;width:100%}"
+                    + "td,th{border:1px solid #ccc;padding:4px;text-align:left;vertical-align:top}"
+                    + ".passed{color:#2a7d2a}.failed{color:#c0392b}.skipped,.pending,.undefined,.ambiguous{color:#b7950b}"
+                    + "pre{margin:0;white-space:pre-wrap}</style></head><body>\n<h1>Cucumber report</h1>\n<p>");
+            int total = statusCounts.values().stream().mapToInt(Integer::intValue).sum();
+            out.write(total + " scenarios from " + logs + " result logs, generated " + Instant.now() + ":");
+            for (Map.Entry<String, Integer> count : statusCounts.entrySet()) {
+                out.write(" <span class=\"" + escape(count.getKey()) + "\">" + count.getValue() + " " + escape(count.getKey()) + "</span>");
+            }
+            out.write("</p>\n");
+        }
+
+        void startFeature(String name, String uri) throws IOException {
+            out.write("<h2>" + escape(name) + "</h2>\n<p>" + escape(uri) + "</p>\n"
+                    + "<table><tr><th>Status</th><th>Scenario</th><th>Duration</th><th>Failure</th></tr>\n");
+        }
+
+        void scenario(JSONObject element) throws IOException {
+            long nanos = 0;
+            String status = "passed";
+            String failure = "";
+            for (String section : new String[]{"before", "steps", "after"}) {
+                JSONArray steps = element.optJSONArray(section);
+                for (int i = 0; steps != null && i < steps.length(); i++) {
+                    JSONObject step = steps.getJSONObject(i);
+                    JSONObject result = step.getJSONObject("result");
+                    nanos += result.optLong("duration");
+                    if ("passed".equals(status) && !"passed".equals(result.getString("status"))) {
+                        status = result.getString("status");
+                        String error = result.optString("error_message");
+                        failure = (step.optString("keyword") + step.optString("name", section + " hook")).trim()
+                                + (error.isEmpty() ? "" : "\n" + error.split("\\r?\\n", 2)[0]);
+                    }
+                }
+            }
+            out.write("<tr><td class=\"" + escape(status) + "\">" + escape(status) + "</td><td>"
+                    + escape(element.getString("name")) + "</td><td>" + String.format(Locale.ROOT, "%.3f s", nanos / 1e9)
+                    + "</td><td><pre>" + escape(failure) + "</pre></td></tr>\n");
+        }
+
+        void endFeature() throws IOException {
+            out.write("</table>\n");
+        }
+
+        void end() throws IOException {
+            out.write("</body></html>\n");
+        }
+
+        private static String escape(String text) {
+            return text.replace("&", "&amp;").replace("<", "&lt;").replace(">", "&gt;").replace("\"", "&quot;");
+        }
+    }
+}
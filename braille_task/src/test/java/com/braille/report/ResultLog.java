@@ -0,0 +1,272 @@
+package com.braille.report;
+
+import com.braille.utility.ConfigurationReader;
+import io.cucumber.plugin.ConcurrentEventListener;
+import io.cucumber.plugin.event.EmbedEvent;
+import io.cucumber.plugin.event.EventPublisher;
+import io.cucumber.plugin.event.HookTestStep;
+import io.cucumber.plugin.event.HookType;
+import io.cucumber.plugin.event.PickleStepTestStep;
+import io.cucumber.plugin.event.Result;
+import io.cucumber.plugin.event.TestCase;
+import io.cucumber.plugin.event.TestCaseFinished;
+import io.cucumber.plugin.event.TestCaseStarted;
+import io.cucumber.plugin.event.TestRunFinished;
+import io.cucumber.plugin.event.TestSourceRead;
+import io.cucumber.plugin.event.TestStepFinished;
+import io.cucumber.plugin.event.WriteEvent;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cucumber plugin that appends each finished scenario to an append-only log, one JSON object per line, instead of
+ * keeping the whole run in memory. Only the scenarios currently running are held, so memory use does not grow with the
+ * size of the suite, and a worker that dies leaves a log of everything it finished.
+ * <p>
+ * The plugin argument is the log directory and the runner's name, e.g.
+ * {@code com.braille.report.ResultLog:target/cucumber-results/CukesRunner}. Each worker writes
+ * {@code CukesRunner-<shard.index>.ndjson} there, so neither runners nor shards sharing a directory overwrite each
+ * other. The first line of a log is {@code {"run": "<id>"}}, followed by {@code {"feature": {...}}} for each feature
+ * file and {@code {"uri", "status", "element"}} for each scenario, where {@code element} is already in the Cucumber
+ * JSON report format. The run id is {@code report.runId}, which shards of one run should share, and defaults to one
+ * per JVM.
+ * <p>
+ * When the run finishes, the logs of the same run in the directory are merged by {@link ReportMerger}, unless
+ * {@code report.merge=false}. Logs left behind by earlier runs are not merged.
+ */
+public class ResultLog implements ConcurrentEventListener {
+    private static final boolean MERGE = ConfigurationReader.getBooleanProperty("report.merge", true);
+    private static final String RUN_ID = ConfigurationReader.getProperty("report.runId",
+            Instant.now() + "-" + ProcessHandle.current().pid());
+
+    private final Path directory;
+    private final Path file;
+    private final Map<UUID, RunningScenario> running = new ConcurrentHashMap<>();
+    private Writer out;
+
+    public ResultLog(String directoryAndRunner) {
+        Path prefix = Paths.get(directoryAndRunner).toAbsolutePath();
+        this.directory = prefix.getParent();
+        this.file = directory.resolve(prefix.getFileName() + "-" + ConfigurationReader.getProperty("shard.index", "0") + ".ndjson");
+    }
+
+    /**
+     * @param directoryAndRunner The plugin argument of the run.
+     * @return Where to look at the run's results: the merged HTML report, or the result logs with
+     * {@code report.merge=false}.
+     */
+    public static Path reportFor(String directoryAndRunner) {
+        return MERGE ? ReportMerger.htmlReport() : Paths.get(directoryAndRunner).toAbsolutePath().getParent();
+    }
+
+    @Override
+    public void setEventPublisher(EventPublisher publisher) {
+        publisher.registerHandlerFor(TestSourceRead.class, this::handleTestSourceRead);
+        publisher.registerHandlerFor(TestCaseStarted.class, this::handleTestCaseStarted);
+        publisher.registerHandlerFor(TestStepFinished.class, this::handleTestStepFinished);
+        publisher.registerHandlerFor(EmbedEvent.class, this::handleEmbed);
+        publisher.registerHandlerFor(WriteEvent.class, this::handleWrite);
+        publisher.registerHandlerFor(TestCaseFinished.class, this::handleTestCaseFinished);
+        publisher.registerHandlerFor(TestRunFinished.class, this::handleTestRunFinished);
+    }
+
+    private void handleTestSourceRead(TestSourceRead event) {
+        write(new JSONObject().put("feature", featureHeader(event.getUri().toString(), event.getSource())));
+    }
+
+    private void handleTestCaseStarted(TestCaseStarted event) {
+        TestCase testCase = event.getTestCase();
+        JSONArray tags = new JSONArray();
+        testCase.getTags().forEach(tag -> tags.put(new JSONObject().put("name", tag)));
+        JSONObject element = new JSONObject()
+                .put("start_timestamp", event.getInstant().toString())
+                .put("line", testCase.getLocation().getLine())
+                .put("name", testCase.getName())
+                .put("description", "")
+                .put("type", "scenario")
+                .put("keyword", testCase.getKeyword())
+                .put("tags", tags)
+                .put("before", new JSONArray())
+                .put("steps", new JSONArray())
+                .put("after", new JSONArray());
+        running.put(testCase.getId(), new RunningScenario(testCase.getUri().toString(), element));
+    }
+
+    private void handleTestStepFinished(TestStepFinished event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario == null) {
+            return;
+        }
+        JSONObject step = new JSONObject()
+                .put("result", toJson(event.getResult()))
+                .put("match", new JSONObject().put("location", event.getTestStep().getCodeLocation()));
+        scenario.flushAttachments(step);
+        if (event.getTestStep() instanceof PickleStepTestStep) {
+            PickleStepTestStep pickleStep = (PickleStepTestStep) event.getTestStep();
+            step.put("keyword", pickleStep.getStep().getKeyword())
+                    .put("name", pickleStep.getStep().getText())
+                    .put("line", pickleStep.getStep().getLine());
+            scenario.element.getJSONArray("steps").put(step);
+        } else if (event.getTestStep() instanceof HookTestStep) {
+            HookType hookType = ((HookTestStep) event.getTestStep()).getHookType();
+            if (hookType == HookType.BEFORE) {
+                scenario.element.getJSONArray("before").put(step);
+            } else if (hookType == HookType.AFTER) {
+                scenario.element.getJSONArray("after").put(step);
+            }
+        }
+    }
+
+    private void handleEmbed(EmbedEvent event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario != null) {
+            scenario.embeddings.put(new JSONObject()
+                    .put("data", Base64.getEncoder().encodeToString(event.getData()))
+                    .put("mime_type", event.getMediaType())
+                    .put("name", event.getName()));
+        }
+    }
+
+    private void handleWrite(WriteEvent event) {
+        RunningScenario scenario = running.get(event.getTestCase().getId());
+        if (scenario != null) {
+            scenario.output.put(event.getText());
+        }
+    }
+
+    private void handleTestCaseFinished(TestCaseFinished event) {
+        RunningScenario scenario = running.remove(event.getTestCase().getId());
+        if (scenario != null) {
+            write(new JSONObject()
+                    .put("uri", scenario.uri)
+                    .put("status", event.getResult().getStatus().name().toLowerCase(Locale.ROOT))
+                    .put("element", scenario.element));
+        }
+    }
+
+    private synchronized void handleTestRunFinished(TestRunFinished event) {
+        try {
+            if (out != null) {
+                out.close();
+                out = null;
+            }
+            if (MERGE) {
+                ReportMerger.merge(ReportMerger.logsOfRun(directory, RUN_ID));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not write the report from " + directory, e);
+        }
+    }
+
+    /**
+     * Appends one line and flushes it, so the log holds every finished scenario even if the worker dies.
+     */
+    private synchronized void write(JSONObject line) {
+        try {
+            if (out == null) {
+                Files.createDirectories(directory);
+                out = Files.newBufferedWriter(file, StandardCharsets.UTF_8);
+                out.write(new JSONObject().put("run", RUN_ID).toString());
+                out.write('\n');
+            }
+            out.write(line.toString());
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not append to " + file, e);
+        }
+    }
+
+    /**
+     * Reads the feature's keyword, name, tags and description from the top of its source, which is all the Cucumber
+     * JSON report needs about the feature itself.
+     */
+    private static JSONObject featureHeader(String uri, String source) {
+        String[] lines = source.split("\\r?\\n");
+        JSONArray tags = new JSONArray();
+        for (int i = 0; i < lines.length; i++) {
+            String line = lines[i].trim();
+            if (line.startsWith("@")) {
+                for (String tag : line.split("\\s+")) {
+                    if (tag.startsWith("@")) {
+                        tags.put(new JSONObject().put("name", tag).put("line", i + 1));
+                    }
+                }
+            } else if (line.startsWith("Feature:")) {
+                StringBuilder description = new StringBuilder();
+                for (int j = i + 1; j < lines.length && !startsBlock(lines[j].trim()); j++) {
+                    description.append(description.length() == 0 ? "" : "\n").append(lines[j].trim());
+                }
+                return new JSONObject()
+                        .put("uri", uri)
+                        .put("id", ReportMerger.toId(line.substring("Feature:".length()).trim()))
+                        .put("keyword", "Feature")
+                        .put("name", line.substring("Feature:".length()).trim())
+                        .put("line", i + 1)
+                        .put("description", description.toString())
+                        .put("tags", tags);
+            }
+        }
+        return new JSONObject().put("uri", uri).put("id", ReportMerger.toId(uri)).put("keyword", "Feature")
+                .put("name", uri).put("line", 1).put("description", "").put("tags", tags);
+    }
+
+    private static boolean startsBlock(String line) {
+        return line.isEmpty() || line.startsWith("@") || line.startsWith("#")
+                || line.matches("(Background|Scenario|Scenario Outline|Scenario Template|Example|Rule):.*");
+    }
+
+    private static JSONObject toJson(Result result) {
+        JSONObject json = new JSONObject()
+                .put("status", result.getStatus().name().toLowerCase(Locale.ROOT))
+                .put("duration", result.getDuration().toNanos());
+        if (result.getError() != null) {
+            StringWriter stackTrace = new StringWriter();
+            result.getError().printStackTrace(new PrintWriter(stackTrace));
+            json.put("error_message", stackTrace.toString());
+        }
+        return json;
+    }
+
+    /**
+     * A scenario that has started but not finished yet, with the attachments of the step currently running.
+     */
+    private static final class RunningScenario {
+        final String uri;
+        final JSONObject element;
+        JSONArray embeddings = new JSONArray();
+        JSONArray output = new JSONArray();
+
+        RunningScenario(String uri, JSONObject element) {
+            this.uri = uri;
+            this.element = element;
+        }
+
+        void flushAttachments(JSONObject step) {
+            if (!embeddings.isEmpty()) {
+                step.put("embeddings", embeddings);
+                embeddings = new JSONArray();
+            }
+            if (!output.isEmpty()) {
+                step.put("output", output);
+                output = new JSONArray();
+            }
+        }
+    }
+}
@@ -6,9 +6,7 @@ import org.junit.runner.RunWith;
 
 @RunWith(Cucumber.class)
 @CucumberOptions(
-        plugin = {"html:target/cucumber-report.html",
-                "me.jvt.cucumber.report.PrettyReports:target/cucumber",
-                "json:target/cucumber.json"},
+        plugin = "com.braille.report.ResultLog:target/cucumber-results/CukesRunner",
         features = "src/test/resources/features",
         glue = "com/braille/step_definitions",
         dryRun = false,
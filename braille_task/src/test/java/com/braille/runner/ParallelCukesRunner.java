@@ -0,0 +1,41 @@
+package com.braille.runner;
+
+import com.braille.report.ResultLog;
+import com.braille.utility.ConfigurationReader;
+import io.cucumber.core.cli.Main;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.parallel.Isolated;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs the feature files with one scenario per thread, {@code cucumber.threads} threads at a time
+ * (default: one per core). Each scenario leases its own browser or API slot in
+ * {@link com.braille.step_definitions.Hooks}, so the per-tag {@code cucumber.limit.<tag>} settings decide how many
+ * UI or API scenarios actually overlap. Scenarios are selected with the standard {@code cucumber.filter.tags} property.
+ * Results are streamed to {@link com.braille.report.ResultLog} and merged into the reports when the run ends.
+ * The runner never overlaps other JUnit tests, which would compete with its scenarios for the same browser sessions.
+ * <p>
+ * {@code mvn test -Dtest=ParallelCukesRunner -Dcucumber.filter.tags=@UI}
+ */
+@Isolated
+public class ParallelCukesRunner {
+    private static final String RESULT_LOG = "target/cucumber-results/ParallelCukesRunner";
+
+    @Test
+    @Tag("Cucumber")
+    @DisplayName("Run all feature files in parallel")
+    public void runFeaturesInParallel() {
+        int threads = ConfigurationReader.getIntProperty("cucumber.threads", Runtime.getRuntime().availableProcessors());
+        byte exitStatus = Main.run(new String[]{
+                "--threads", String.valueOf(threads),
+                "--glue", "com.braille.step_definitions",
+                "--plugin", "summary",
+                "--plugin", "com.braille.report.ResultLog:" + RESULT_LOG,
+                "src/test/resources/features"
+        }, Thread.currentThread().getContextClassLoader());
+        assertEquals(0, exitStatus, "Some scenarios failed, see " + ResultLog.reportFor(RESULT_LOG));
+    }
+}
@@ -0,0 +1,30 @@
+package com.braille.step_definitions;
+
+import com.braille.pages.CounterPage;
+import com.braille.utility.Driver;
+import com.braille.utility.MutationWait;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CounterPageSteps {
+    private final CounterPage counterPage = new CounterPage(Driver.getDriver(), new WebDriverWait(Driver.getDriver(), MutationWait.DEFAULT_TIMEOUT));
+
+    @When("the user clicks the increment button")
+    public void theUserClicksTheIncrementButton() {
+        counterPage.clickIncrementButton();
+    }
+
+    @Then("the counter page header should be {string}")
+    public void theCounterPageHeaderShouldBe(String header) {
+        assertEquals(header, counterPage.getCounterHeaderText(), "Counter header text does not match expected value");
+    }
+
+    @Then("the counter should show {string}")
+    public void theCounterShouldShow(String value) {
+        assertEquals(value, counterPage.getCOUNTER_VALUE(), "Counter value does not match expected value");
+    }
+}
@@ -0,0 +1,53 @@
+package com.braille.step_definitions;
+
+import com.braille.pages.HomePage;
+import com.braille.utility.Driver;
+import com.braille.utility.MutationWait;
+import io.cucumber.java.en.Given;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HomePageSteps {
+    private final HomePage homePage = new HomePage(Driver.getDriver(), new WebDriverWait(Driver.getDriver(), MutationWait.DEFAULT_TIMEOUT));
+
+    @Given("the user is on the home page")
+    public void theUserIsOnTheHomePage() {
+        homePage.waitForPageToLoad();
+    }
+
+    @When("the user navigates to the weather page")
+    public void theUserNavigatesToTheWeatherPage() {
+        homePage.navigateToWeather();
+    }
+
+    @When("the user navigates to the counter page")
+    public void theUserNavigatesToTheCounterPage() {
+        homePage.navigateToCounter();
+    }
+
+    @Then("the user should see {int} navigation options")
+    public void theUserShouldSeeNavigationOptions(int count) {
+        assertEquals(count, homePage.getMENU_ITEMS().size(), "User should see " + count + " navigation options");
+    }
+
+    @Then("the home page header should be {string}")
+    public void theHomePageHeaderShouldBe(String header) {
+        assertEquals(header, homePage.getHomeHeaderText());
+    }
+
+    @Then("the welcome text should be displayed")
+    public void theWelcomeTextShouldBeDisplayed() {
+        assertTrue(homePage.isWelcomeTextDisplayed(), "Welcome text should be visible to the user");
+    }
+
+    @Then("the About link should point to {string}")
+    public void theAboutLinkShouldPointTo(String href) {
+        assertTrue(homePage.getABOUT_LINK().isDisplayed(), "About link should be accessible to the user");
+        assertEquals("About", homePage.getABOUT_LINK().getText());
+        assertEquals(href, homePage.getABOUT_LINK().getAttribute("href"));
+    }
+}
@@ -0,0 +1,100 @@
+package com.braille.step_definitions;
+
+import com.braille.utility.CommandMetrics;
+import com.braille.utility.ConfigurationReader;
+import com.braille.utility.Driver;
+import com.braille.utility.PagePerformance;
+import com.braille.utility.TagConcurrencyLimiter;
+import io.cucumber.java.After;
+import io.cucumber.java.Before;
+import io.cucumber.java.Scenario;
+import org.openqa.selenium.OutputType;
+import org.openqa.selenium.TakesScreenshot;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Scenario lifecycle for parallel runs. Every scenario first takes a slot for each of its limited tags
+ * (see {@link TagConcurrencyLimiter}); {@code @UI} scenarios then lease their own browser session from the
+ * {@link Driver} pool and hand it back, reset, when they finish. {@code @FreshBrowser} scenarios get a newly
+ * started browser that is quit afterwards, like {@link com.braille.utility.FreshBrowser} tests.
+ * <p>
+ * By default UI scenarios are capped by {@code driver.pool.size} and API scenarios by {@code api.pool.maxConnections}.
+ * A scenario fails if a page it loaded was over a {@code perf.budget.<page>.<metric>} budget, see {@link PagePerformance}.
+ */
+public class Hooks {
+    public static final String BASE_URL = ConfigurationReader.getProperty("ui.baseUrl", "http://localhost:8080");
+
+    private static final TagConcurrencyLimiter LIMITER = new TagConcurrencyLimiter(defaultLimits(),
+            Duration.ofSeconds(ConfigurationReader.getIntProperty("cucumber.limit.timeoutSeconds", 600)));
+
+    private final List<Semaphore> permits = new ArrayList<>();
+    private boolean freshBrowser;
+
+    @Before(order = 0)
+    public void acquireSlots(Scenario scenario) {
+        permits.addAll(LIMITER.acquire(scenario.getSourceTagNames()));
+        CommandMetrics.startTest(scenario.getName());
+        PagePerformance.startTest(scenario.getName(), Collections.emptyList());
+    }
+
+    @Before(value = "@UI", order = 1)
+    public void openBrowser(Scenario scenario) {
+        freshBrowser = scenario.getSourceTagNames().contains("@FreshBrowser");
+        WebDriver driver = freshBrowser ? Driver.getFreshDriver() : Driver.getDriver();
+        driver.get(BASE_URL);
+    }
+
+    /**
+     * Runs before the browser is closed, so a failed budget also gets a screenshot.
+     */
+    @After(order = 2)
+    public void checkPerformanceBudgets() {
+        List<String> overBudget = PagePerformance.endTest();
+        if (!overBudget.isEmpty()) {
+            throw new AssertionError("Performance budget exceeded: " + String.join("; ", overBudget));
+        }
+    }
+
+    @After(value = "@UI", order = 1)
+    public void closeBrowser(Scenario scenario) {
+        if (scenario.isFailed()) {
+            try {
+                byte[] screenshot = ((TakesScreenshot) Driver.getDriver()).getScreenshotAs(OutputType.BYTES);
+                scenario.attach(screenshot, "image/png", scenario.getName());
+            } catch (WebDriverException e) {
+                System.out.println("Could not take a screenshot of failed scenario " + scenario.getName() + ": " + e.getMessage());
+            }
+        }
+        if (freshBrowser || scenario.isFailed()) {
+            Driver.quitDriver();
+        } else {
+            Driver.resetSession();
+            Driver.closeDriver();
+        }
+    }
+
+    /**
+     * Runs after every other after hook, so a slot is only freed once the scenario's browser is back in the pool.
+     */
+    @After(order = 0)
+    public void releaseSlots() {
+        CommandMetrics.endTest();
+        LIMITER.release(permits);
+    }
+
+    private static Map<String, Integer> defaultLimits() {
+        Map<String, Integer> limits = new HashMap<>();
+        limits.put("UI", ConfigurationReader.getIntProperty("driver.pool.size", 4));
+        limits.put("API", ConfigurationReader.getIntProperty("api.pool.maxConnections", 64));
+        return limits;
+    }
+}
@@ -0,0 +1,94 @@
+package com.braille.step_definitions;
+
+import com.braille.api.ApiClient;
+import com.braille.api.WeatherForecast;
+import com.braille.api.WeatherForecastCodec;
+import com.braille.api.WeatherForecastStreamValidator;
+import com.braille.api.WeatherForecastService;
+import com.braille.test_cases.WeatherForecastApiTests;
+import io.cucumber.java.AfterAll;
+import io.cucumber.java.BeforeAll;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * API steps share one {@link ApiClient} across all scenario threads; its connection pool is what
+ * {@code cucumber.limit.API} defaults to.
+ */
+public class WeatherForecastApiSteps {
+    private static WeatherForecastService service;
+    private static ApiClient client;
+
+    private Response response;
+    private WeatherForecast sentForecast;
+
+    /**
+     * Connects to the {@link WeatherForecastService}, as in {@link WeatherForecastApiTests}.
+     */
+    @BeforeAll
+    public static void startService() throws IOException {
+        service = WeatherForecastService.start();
+        client = service.getClient();
+    }
+
+    @AfterAll
+    public static void stopService() {
+        service.close();
+    }
+
+    @When("the client requests all weather forecasts")
+    public void theClientRequestsAllWeatherForecasts() {
+        response = client.request().get("/weatherforecast");
+    }
+
+    @When("the client requests the weather forecast with id {int}")
+    public void theClientRequestsTheWeatherForecastWithId(int id) {
+        response = client.request().get("/weatherforecast/" + id);
+    }
+
+    @When("the client creates a weather forecast for {string} with {int} degrees Celsius and summary {string}")
+    public void theClientCreatesAWeatherForecast(String date, int temperatureC, String summary) {
+        sentForecast = new WeatherForecast(1, date, temperatureC, summary);
+        response = client.request()
+                .contentType(ContentType.JSON)
+                .body(WeatherForecastCodec.encode(sentForecast))
+                .post("/weatherforecast");
+    }
+
+    @Then("the response status should be {int}")
+    public void theResponseStatusShouldBe(int status) {
+        assertEquals(status, response.getStatusCode(), "Expected status code " + status + ", but found: " + response.getStatusCode());
+    }
+
+    @Then("every weather forecast in the response should be valid")
+    public void everyWeatherForecastInTheResponseShouldBeValid() throws IOException {
+        long count = new WeatherForecastStreamValidator(WeatherForecastApiTests.VALID_SUMMARIES)
+                .validate(response.asInputStream());
+        assertTrue(count > 0, "Expected non-empty list of weather forecasts.");
+    }
+
+    @Then("the response should contain a complete weather forecast")
+    public void theResponseShouldContainACompleteWeatherForecast() throws IOException {
+        WeatherForecast forecast = WeatherForecastCodec.decode(response.asByteArray());
+        assertNotNull(forecast, "Expected a weather forecast object in the response but found null.");
+        assertNotNull(forecast.date, "Expected non-null Date for weather forecast.");
+        assertNotNull(forecast.temperatureC, "Expected non-null TemperatureC for weather forecast.");
+        assertNotNull(forecast.temperatureF, "Expected non-null TemperatureF for weather forecast.");
+        assertNotNull(forecast.summary, "Expected non-null Summary for weather forecast.");
+        assertTrue(WeatherForecastApiTests.VALID_SUMMARIES.contains(forecast.summary), "Expected valid summary for weather forecast.");
+    }
+
+    @Then("the created weather forecast should match the request")
+    public void theCreatedWeatherForecastShouldMatchTheRequest() throws IOException {
+        WeatherForecast createdForecast = WeatherForecastCodec.decode(response.asByteArray());
+        assertEquals(sentForecast.date, createdForecast.date, "Date in response does not match the request.");
+        assertEquals(sentForecast.temperatureC, createdForecast.temperatureC, "TemperatureC in response does not match the request.");
+        assertEquals(sentForecast.summary, createdForecast.summary, "Summary in response does not match the request.");
+    }
+}
@@ -0,0 +1,106 @@
+package com.braille.step_definitions;
+
+import com.braille.pages.TableSnapshot;
+import com.braille.pages.WeatherDownloadVerifier;
+import com.braille.pages.WeatherPage;
+import com.braille.pages.WeatherTableCsvVerifier;
+import com.braille.pages.WeatherTableRow;
+import com.braille.utility.ConfigurationReader;
+import com.braille.utility.DownloadWatcher;
+import com.braille.utility.Driver;
+import com.braille.utility.MutationWait;
+import com.braille.utility.WeatherCsvFiles;
+import io.cucumber.java.en.Then;
+import io.cucumber.java.en.When;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class WeatherPageSteps {
+    private static final int UPLOAD_BATCH_SIZE = ConfigurationReader.getIntProperty("upload.batchSize", 1000);
+
+    private final WebDriver driver = Driver.getDriver();
+    private final WeatherPage weatherPage = new WeatherPage(driver, new WebDriverWait(driver, MutationWait.DEFAULT_TIMEOUT));
+    private TableSnapshot initialData;
+    private Path uploadedFile;
+    private Path downloadedFile;
+
+    @Then("the user should be on the weather page")
+    public void theUserShouldBeOnTheWeatherPage() {
+        assertEquals(Hooks.BASE_URL + "/weather", driver.getCurrentUrl(), "Current URL does not contain weather");
+        assertEquals("Weather", weatherPage.getWeatherHeaderText(), "Header does not contain 'Weather'");
+    }
+
+    @Then("the weather page should show the description, download button and file input")
+    public void theWeatherPageShouldShowItsElements() {
+        assertTrue(weatherPage.isDescriptionTextDisplayed(), "Description text is not displayed");
+        assertTrue(weatherPage.isDownloadButtonDisplayed(), "Download Forecast Data button is not displayed");
+        assertTrue(weatherPage.isFileInputDisplayed(), "File input is not displayed");
+    }
+
+    @Then("the weather table should have {int} valid forecast rows")
+    public void theWeatherTableShouldHaveValidForecastRows(int count) {
+        assertTrue(weatherPage.getWEATHER_TABLE().isDisplayed(), "Weather table is not displayed");
+        List<WeatherTableRow> tableRows = weatherPage.captureTableRows();
+        assertEquals(count, tableRows.size(), "Weather forecast table should have " + count + " data rows");
+        for (WeatherTableRow row : tableRows) {
+            assertTrue(row.date.matches("\\d{2}/\\d{2}/\\d{4}"), "Date should be in MM/DD/YYYY format");
+            assertNotEquals(WeatherTableRow.MISSING, row.temperatureC, "Temperature (C) should be a number");
+            assertNotEquals(WeatherTableRow.MISSING, row.temperatureF, "Temperature (F) should be a number");
+            assertFalse(row.summary.isEmpty(), "Summary should not be empty");
+        }
+    }
+
+    @When("the user refreshes the weather page")
+    public void theUserRefreshesTheWeatherPage() {
+        initialData = weatherPage.snapshotTable();
+        driver.navigate().refresh();
+        weatherPage.getWEATHER_TABLE();
+    }
+
+    @Then("the weather forecast data should have changed")
+    public void theWeatherForecastDataShouldHaveChanged() {
+        assertFalse(weatherPage.snapshotTable().diff(initialData).isEmpty(), "Weather forecast data should change after refresh");
+    }
+
+    @When("the user uploads the weather data file {string}")
+    public void theUserUploadsTheWeatherDataFile(String fileName) {
+        uploadedFile = WeatherCsvFiles.createTestFile(fileName);
+        weatherPage.uploadFile(uploadedFile.toAbsolutePath().toString());
+    }
+
+    @Then("the weather table should show the uploaded rows")
+    public void theWeatherTableShouldShowTheUploadedRows() throws IOException {
+        weatherPage.getWEATHER_TABLE();
+        long rows = new WeatherTableCsvVerifier(weatherPage, UPLOAD_BATCH_SIZE).verify(uploadedFile);
+        assertTrue(rows > 0, "Table should be populated with data after file upload");
+    }
+
+    @When("the user clicks the Download Forecast Data button")
+    public void theUserClicksTheDownloadForecastDataButton() {
+        weatherPage.getWEATHER_TABLE();
+        try (DownloadWatcher download = DownloadWatcher.watch(Driver.getDownloadDirectory())) {
+            weatherPage.clickDownloadButton();
+            downloadedFile = download.awaitFile(Duration.ofSeconds(ConfigurationReader.getIntProperty("download.timeoutSeconds", 30)));
+        }
+    }
+
+    @Then("the downloaded file should match the weather table")
+    public void theDownloadedFileShouldMatchTheWeatherTable() throws IOException {
+        long rows = new WeatherDownloadVerifier(weatherPage, UPLOAD_BATCH_SIZE).verify(downloadedFile);
+        assertTrue(rows > 0, "Downloaded forecast data should not be empty");
+    }
+
+    @Then("the download button should still be usable without errors")
+    public void theDownloadButtonShouldStillBeUsable() {
+        assertTrue(weatherPage.isDownloadButtonDisplayed(), "Download button should still be displayed after click");
+        assertTrue(weatherPage.isDownloadButtonEnabled(), "The Download Forecast Data button should be enabled");
+        assertTrue(weatherPage.getErrorMessages().isEmpty(), "No new error messages or popups should appear");
+    }
+}
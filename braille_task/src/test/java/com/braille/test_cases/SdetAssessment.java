@@ -2,45 +2,88 @@ package com.braille.test_cases;
 
 import com.braille.pages.CounterPage;
 import com.braille.pages.HomePage;
+import com.braille.pages.TableDiff;
+import com.braille.pages.TableSnapshot;
+import com.braille.pages.WeatherDownloadVerifier;
 import com.braille.pages.WeatherPage;
+import com.braille.pages.WeatherTableCsvVerifier;
+import com.braille.pages.WeatherTableRow;
+import com.braille.utility.CommandMetrics;
+import com.braille.utility.ConfigurationReader;
+import com.braille.utility.DownloadWatcher;
+import com.braille.utility.Driver;
+import com.braille.utility.MutationWait;
+import com.braille.utility.FreshBrowser;
+import com.braille.utility.PagePerformance;
+import com.braille.utility.PerformanceBudget;
+import com.braille.utility.WeatherCsvFiles;
 import org.junit.jupiter.api.*;
 import org.openqa.selenium.WebDriver;
-import org.openqa.selenium.WebElement;
-import org.openqa.selenium.chrome.ChromeDriver;
-import org.openqa.selenium.support.ui.ExpectedConditions;
 import org.openqa.selenium.support.ui.WebDriverWait;
 
-import java.nio.file.Files;
+import java.io.IOException;
 import java.nio.file.Path;
-import java.nio.file.Paths;
 import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 
 public class SdetAssessment {
+    private static final String BASE_URL = ConfigurationReader.getProperty("ui.baseUrl", "http://localhost:8080");
+    private static final boolean REUSE_SESSIONS = ConfigurationReader.getBooleanProperty("session.reuse", true);
+    private static final int UPLOAD_BATCH_SIZE = ConfigurationReader.getIntProperty("upload.batchSize", 1000);
+    private static final Duration DOWNLOAD_TIMEOUT = Duration.ofSeconds(ConfigurationReader.getIntProperty("download.timeoutSeconds", 30));
+
     private WebDriver driver;
+    private boolean freshBrowser;
     private WebDriverWait wait;
     private HomePage homePage;
     private WeatherPage weatherPage;
     private CounterPage counterPage;
 
+    /**
+     * Leases a warm browser session from the pool and navigates it to the home page.
+     * Tests annotated with {@link FreshBrowser}, or every test when {@code session.reuse=false},
+     * get a newly started browser instead. The test's {@link PerformanceBudget}s apply to the pages it loads.
+     */
     @BeforeEach
-    public void setup() {
-        driver = new ChromeDriver();
-        driver.get("http://localhost:8080");
-        driver.manage().window().maximize();
-        wait = new WebDriverWait(driver, Duration.ofSeconds(10));
+    public void setup(TestInfo testInfo) {
+        freshBrowser = !REUSE_SESSIONS || testInfo.getTestMethod()
+                .map(method -> method.isAnnotationPresent(FreshBrowser.class))
+                .orElse(false);
+        String testName = getClass().getSimpleName() + "."
+                + testInfo.getTestMethod().map(method -> method.getName()).orElse(testInfo.getDisplayName());
+        CommandMetrics.startTest(testName);
+        PagePerformance.startTest(testName, testInfo.getTestMethod()
+                .map(method -> Arrays.asList(method.getAnnotationsByType(PerformanceBudget.class)))
+                .orElse(Collections.emptyList()));
+        driver = freshBrowser ? Driver.getFreshDriver() : Driver.getDriver();
+        driver.get(BASE_URL);
+        wait = new WebDriverWait(driver, MutationWait.DEFAULT_TIMEOUT);
         homePage = new HomePage(driver, wait);
         homePage.waitForPageToLoad();
         weatherPage = new WeatherPage(driver, wait);
         counterPage = new CounterPage(driver, wait);
     }
 
+    /**
+     * Resets cookies and storage and returns the session to the pool, or quits it if the test needed a fresh browser.
+     * Fails the test if a page it loaded was over budget.
+     */
     @AfterEach
     public void tearDown() {
-        if (driver != null) {
-            driver.quit();
+        if (freshBrowser) {
+            Driver.quitDriver();
+        } else {
+            Driver.resetSession();
+            Driver.closeDriver();
+        }
+        CommandMetrics.endTest();
+        List<String> overBudget = PagePerformance.endTest();
+        if (!overBudget.isEmpty()) {
+            fail("Performance budget exceeded: " + String.join("; ", overBudget));
         }
     }
 
@@ -71,6 +114,7 @@ public class SdetAssessment {
 
     @Test
     @Tag("UI")
+    @PerformanceBudget(page = "CounterPage.load", metric = "ready", max = 3000)
     @DisplayName("User can increment counter count")
     public void VerifyCounterButtonFunctionality() {
         homePage.navigateToCounter();
@@ -85,7 +129,7 @@ public class SdetAssessment {
     @DisplayName("User sees correct weather page elements")
     public void VerifyWeatherPageContainsCorrectElements() {
         homePage.navigateToWeather();
-        assertEquals("http://localhost:8080/weather", driver.getCurrentUrl(), "Current URL does not contain weather");
+        assertEquals(BASE_URL + "/weather", driver.getCurrentUrl(), "Current URL does not contain weather");
         assertEquals("Weather", weatherPage.getWeatherHeaderText(), "Header does not contain 'Weather'");
         assertTrue(weatherPage.isDescriptionTextDisplayed(), "Description text is not displayed");
         assertTrue(weatherPage.isDownloadButtonDisplayed(), "Download Forecast Data button is not displayed");
@@ -94,18 +138,18 @@ public class SdetAssessment {
 
     @Test
     @Tag("UI")
+    @PerformanceBudget(page = "WeatherPage.WEATHER_TABLE", metric = "ready", max = 5000)
     @DisplayName("User sees correct weather forecast table structure")
     public void VerifyWeatherForecastTableStructure() {
         homePage.navigateToWeather();
         assertTrue(weatherPage.getWEATHER_TABLE().isDisplayed(), "Weather table is not displayed");
-        List<WebElement> tableRows = weatherPage.getWeatherTableRows();
+        List<WeatherTableRow> tableRows = weatherPage.captureTableRows();
         assertEquals(5, tableRows.size(), "Weather forecast table should have 5 data rows");
-        for (WebElement row : tableRows) {
-            List<WebElement> cells = weatherPage.getWeatherTableCells(row);
-            assertTrue(cells.get(0).getText().matches("\\d{2}/\\d{2}/\\d{4}"), "Date should be in MM/DD/YYYY format");
-            assertTrue(cells.get(1).getText().matches("-?\\d+"), "Temperature (C) should be a number");
-            assertTrue(cells.get(2).getText().matches("-?\\d+"), "Temperature (F) should be a number");
-            assertFalse(cells.get(3).getText().isEmpty(), "Summary should not be empty");
+        for (WeatherTableRow row : tableRows) {
+            assertTrue(row.date.matches("\\d{2}/\\d{2}/\\d{4}"), "Date should be in MM/DD/YYYY format");
+            assertNotEquals(WeatherTableRow.MISSING, row.temperatureC, "Temperature (C) should be a number");
+            assertNotEquals(WeatherTableRow.MISSING, row.temperatureF, "Temperature (F) should be a number");
+            assertFalse(row.summary.isEmpty(), "Summary should not be empty");
         }
     }
 
@@ -114,58 +158,62 @@ public class SdetAssessment {
     @DisplayName("User sees refreshed weather forecast data")
     public void VerifyWeatherForecastDataRefresh() {
         homePage.navigateToWeather();
-        List<String> initialData = weatherPage.captureTableData();
+        TableSnapshot initialData = weatherPage.snapshotTable();
         driver.navigate().refresh();
-        wait.until(ExpectedConditions.presenceOfElementLocated(weatherPage.WEATHER_TABLE));
-        List<String> refreshedData = weatherPage.captureTableData();
-        wait.until(ExpectedConditions.presenceOfElementLocated(weatherPage.WEATHER_TABLE));
-        assertNotEquals(initialData, refreshedData, "Weather forecast data should change after refresh");
+        weatherPage.getWEATHER_TABLE();
+        TableDiff changes = weatherPage.snapshotTable().diff(initialData);
+        assertFalse(changes.isEmpty(), () -> "Weather forecast data should change after refresh: " + changes);
     }
 
     @Test
     @Tag("UI")
+    @FreshBrowser
     @DisplayName("User can upload weather data file")
-    public void VerifyFileUploadFunctionality() {
+    public void VerifyFileUploadFunctionality() throws IOException {
         homePage.navigateToWeather();
         String fileName = "test_weather_data.csv";
-        Path testFilePath = createTestFile(fileName);
+        Path testFilePath = WeatherCsvFiles.createTestFile(fileName);
+        weatherPage.uploadFile(testFilePath.toAbsolutePath().toString());
+        weatherPage.getWEATHER_TABLE();
+        long rows = new WeatherTableCsvVerifier(weatherPage, UPLOAD_BATCH_SIZE).verify(testFilePath);
+        assertTrue(rows > 0, "Table should be populated with data after file upload");
+    }
+
+    /**
+     * Uploads a generated file of {@code upload.rows} rows (default 10,000, seeded by {@code upload.seed})
+     * and checks every rendered row against it.
+     */
+    @Test
+    @Tag("UI")
+    @Tag("Load")
+    @FreshBrowser
+    @DisplayName("User can upload a large weather data file")
+    public void VerifyLargeFileUploadFunctionality() throws IOException {
+        int uploadRows = ConfigurationReader.getIntProperty("upload.rows", 10_000);
+        homePage.navigateToWeather();
+        Path testFilePath = WeatherCsvFiles.createLargeTestFile("large_weather_data.csv", uploadRows,
+                ConfigurationReader.getIntProperty("upload.seed", 42));
         weatherPage.uploadFile(testFilePath.toAbsolutePath().toString());
-        wait.until(ExpectedConditions.visibilityOfElementLocated(weatherPage.WEATHER_TABLE));
-        List<WebElement> rows = weatherPage.getWeatherTableRows();
-        assertFalse(rows.isEmpty(), "Table should be populated with data after file upload");
+        weatherPage.getWEATHER_TABLE();
+        long rows = new WeatherTableCsvVerifier(weatherPage, UPLOAD_BATCH_SIZE).verify(testFilePath);
+        assertEquals(uploadRows, rows, "Every uploaded row should be rendered");
     }
 
     @Test
     @Tag("UI")
     @DisplayName("User can interact with Download Forecast Data button")
-    public void verifyDownloadForecastDataButtonFunctionality() {
+    public void verifyDownloadForecastDataButtonFunctionality() throws IOException {
         homePage.navigateToWeather();
-        wait.until(ExpectedConditions.visibilityOfElementLocated(weatherPage.WEATHER_TABLE));
-        weatherPage.clickDownloadButton();
+        weatherPage.getWEATHER_TABLE();
+        Path downloadedFile;
+        try (DownloadWatcher download = DownloadWatcher.watch(Driver.getDownloadDirectory())) {
+            weatherPage.clickDownloadButton();
+            downloadedFile = download.awaitFile(DOWNLOAD_TIMEOUT);
+        }
+        long rows = new WeatherDownloadVerifier(weatherPage, UPLOAD_BATCH_SIZE).verify(downloadedFile);
+        assertTrue(rows > 0, "Downloaded forecast data should not be empty");
         assertTrue(weatherPage.isDownloadButtonDisplayed(), "Download button should still be displayed after click");
         assertTrue(weatherPage.isDownloadButtonEnabled(), "The Download Forecast Data button should be enabled");
         assertTrue(weatherPage.getErrorMessages().isEmpty(), "No new error messages or popups should appear");
     }
-
-    /**
-     * Creates a test file with the specified name in the temporary directory.
-     * The file contains weather forecast data in CSV format.
-     *
-     * @param fileName The name of the test file to be created.
-     * @return The {@link Path} of the created test file.
-     * @throws RuntimeException If an error occurs while creating the test file.
-     */
-    private Path createTestFile(String fileName) {
-        try {
-            Path testFilePath = Paths.get(System.getProperty("java.io.tmpdir"), fileName);
-            String content = "Date,Temp. (C),Temp. (F),Summary\n" +
-                    "07/28/2024,25,77,Sunny\n" +
-                    "07/29/2024,30,86,Hot\n" +
-                    "07/30/2024,20,68,Mild\n";
-            Files.write(testFilePath, content.getBytes());
-            return testFilePath;
-        } catch (Exception e) {
-            throw new RuntimeException("Failed to create test file", e);
-        }
-    }
 }
\ No newline at end of file
@@ -1,9 +1,13 @@
 package com.braille.test_cases;
+import com.braille.api.ApiClient;
 import com.braille.api.WeatherForecast;
-import io.restassured.*;
+import com.braille.api.WeatherForecastCodec;
+import com.braille.api.WeatherForecastStreamValidator;
+import com.braille.api.WeatherForecastService;
 import io.restassured.http.ContentType;
 import io.restassured.response.Response;
 import org.junit.jupiter.api.*;
+import java.io.IOException;
 import java.util.Arrays;
 import java.util.List;
 import java.util.regex.Pattern;
@@ -14,21 +18,34 @@ public class WeatherForecastApiTests {
     public static final List<String> VALID_SUMMARIES = Arrays.asList(
             "Undefined", "Freezing", "Bracing", "Chilly", "Cool", "Mild", "Warm", "Balmy", "Hot", "Sweltering", "Scorching");
 
-    @BeforeEach
-    public void setup() {
-        RestAssured.baseURI = "http://localhost:8081";
+    private static WeatherForecastService service;
+    private static ApiClient client;
+
+    /**
+     * Connects to the {@link WeatherForecastService}, an in-process stub when {@code api.stub=true}, so the tests run
+     * without the external service. Otherwise the tests target {@code api.baseUrl}.
+     */
+    @BeforeAll
+    public static void startService() throws IOException {
+        service = WeatherForecastService.start();
+        client = service.getClient();
+    }
+
+    @AfterAll
+    public static void stopService() {
+        service.close();
     }
 
     @Test
     @Tag("WeatherForecast")
     @DisplayName("Testing GET /weatherForecast endpoint")
-    public void getAllWeatherForecastsApiTest() {
+    public void getAllWeatherForecastsApiTest() throws IOException {
 
-        Response response = RestAssured.get("/weatherforecast");
+        Response response = client.request().get("/weatherforecast");
 
         assertEquals(200, response.getStatusCode(), "Expected status code 200, but found: " + response.getStatusCode());
 
-        WeatherForecast[] forecasts = response.getBody().as(WeatherForecast[].class);
+        WeatherForecast[] forecasts = WeatherForecastCodec.decodeArray(response.asByteArray());
 
         assertTrue(forecasts.length > 0, "Expected non-empty list of weather forecasts.");
         assertTrue(DATE_PATTERN.matcher(forecasts[0].date).matches(), "Expected date format YYYY-MM-DD for weather forecast.");
@@ -44,18 +61,36 @@ public class WeatherForecastApiTests {
         }
     }
 
+    /**
+     * Same checks as {@link #getAllWeatherForecastsApiTest()}, but the body is validated token by token while it is read,
+     * so memory stays constant for very large forecast lists and the test fails on the first invalid forecast.
+     */
+    @Test
+    @Tag("WeatherForecast")
+    @DisplayName("Testing GET /weatherForecast endpoint with streaming validation")
+    public void getAllWeatherForecastsStreamingApiTest() throws IOException {
+
+        Response response = client.request().get("/weatherforecast");
+
+        assertEquals(200, response.getStatusCode(), "Expected status code 200, but found: " + response.getStatusCode());
+
+        long count = new WeatherForecastStreamValidator(VALID_SUMMARIES).validate(response.asInputStream());
+
+        assertTrue(count > 0, "Expected non-empty list of weather forecasts.");
+    }
+
     @Test
     @Tag("WeatherForecast")
     @DisplayName("Testing GET /weatherForecast/{id} endpoint")
 
-    public void getSpecificWeatherForecastByIdApiTest() {
+    public void getSpecificWeatherForecastByIdApiTest() throws IOException {
         int id = 1; // Example ID
 
-        Response response = RestAssured.get("/weatherforecast/" + id);
+        Response response = client.request().get("/weatherforecast/" + id);
 
         assertEquals(response.getStatusCode(), 200, "Expected status code 200, but found: " + response.getStatusCode());
 
-        WeatherForecast forecast = response.getBody().as(WeatherForecast.class);
+        WeatherForecast forecast = WeatherForecastCodec.decode(response.asByteArray());
 
         assertNotNull(forecast, "Expected a weather forecast object in the response but found null.");
         assertNotNull(forecast.id, "Expected non-null ID for weather forecast.");
@@ -72,7 +107,7 @@ public class WeatherForecastApiTests {
     public void getNonExistingWeatherForecastByIdTest() {
         int nonExistingId = 999; // Example invalid ID
 
-        Response response = RestAssured.get("/weatherforecast/" + nonExistingId);
+        Response response = client.request().get("/weatherforecast/" + nonExistingId);
 
         assertEquals(response.getStatusCode(), 404, "Expected status code 404, but found: " + response.getStatusCode());
     }
@@ -84,18 +119,18 @@ public class WeatherForecastApiTests {
     @Tag("WeatherForecast")
     @DisplayName("Testing POST /weatherForecast/{id} endpoint")
 
-    public void UserCanCreateWeatherForecastApiTest() {
+    public void UserCanCreateWeatherForecastApiTest() throws IOException {
         WeatherForecast newForecast = new WeatherForecast(1, "2024-07-25", 25, "Warm");
 
-        Response response = RestAssured
-                .given()
+        Response response = client
+                .request()
                 .contentType(ContentType.JSON)
-                .body(newForecast)
+                .body(WeatherForecastCodec.encode(newForecast))
                 .post("/weatherforecast");
 
         assertEquals(response.getStatusCode(), 201, "Expected status code 201, but found: " + response.getStatusCode());
 
-        WeatherForecast createdForecast = response.getBody().as(WeatherForecast.class);
+        WeatherForecast createdForecast = WeatherForecastCodec.decode(response.asByteArray());
 
         assertNotNull(createdForecast, "Expected a weather forecast object in the response but found null.");
         assertNotNull(createdForecast.date, "Expected non-null Date for the created weather forecast.");
@@ -0,0 +1,126 @@
+package com.braille.test_cases;
+import com.braille.api.ApiClient;
+import com.braille.api.LoadGenerator;
+import com.braille.api.LoadResult;
+import com.braille.api.WeatherForecast;
+import com.braille.api.WeatherForecastService;
+import com.braille.utility.ConfigurationReader;
+import io.restassured.http.ContentType;
+import io.restassured.response.Response;
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.parallel.Execution;
+import org.junit.jupiter.api.parallel.ExecutionMode;
+import org.junit.jupiter.api.parallel.Isolated;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.function.IntSupplier;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Drives the {@link WeatherForecastApiTests} scenarios under concurrent load and reports throughput and latency
+ * percentiles per endpoint. Results are printed and appended to {@code target/load-test-results.csv}.
+ * <p>
+ * Configuration: {@code load.concurrency} (workers, default 16), {@code load.durationSeconds} (default 10),
+ * {@code load.requestsPerSecond} (0 for back-to-back requests, otherwise a fixed-rate open model) and
+ * {@code load.p99BudgetMillis} (fail when p99 latency exceeds it, disabled by default).
+ * The scenarios run one at a time and never alongside other tests, which would skew the measurements.
+ */
+@Tag("Load")
+@Isolated
+@Execution(ExecutionMode.SAME_THREAD)
+public class WeatherForecastLoadTests {
+    private static final Path RESULTS_FILE = Paths.get("target", "load-test-results.csv");
+    private static WeatherForecastService service;
+    private static ApiClient client;
+    private static LoadGenerator loadGenerator;
+
+    @BeforeAll
+    public static void startService() throws IOException {
+        service = WeatherForecastService.start();
+        client = service.getClient();
+        loadGenerator = new LoadGenerator(
+                ConfigurationReader.getIntProperty("load.concurrency", 16),
+                Duration.ofSeconds(ConfigurationReader.getIntProperty("load.durationSeconds", 10)),
+                ConfigurationReader.getIntProperty("load.requestsPerSecond", 0));
+    }
+
+    @AfterAll
+    public static void stopService() {
+        service.close();
+    }
+
+    @Test
+    @DisplayName("Load testing GET /weatherForecast endpoint")
+    public void getAllWeatherForecastsLoadTest() throws IOException {
+        runScenario("GET /weatherforecast", () -> statusOf(client.request()
+                .get("/weatherforecast")), 200);
+    }
+
+    @Test
+    @DisplayName("Load testing GET /weatherForecast/{id} endpoint")
+    public void getSpecificWeatherForecastByIdLoadTest() throws IOException {
+        runScenario("GET /weatherforecast/{id}", () -> statusOf(client.request()
+                .get("/weatherforecast/1")), 200);
+    }
+
+    @Test
+    @DisplayName("Load testing GET /weatherForecast/{id} endpoint with Invalid Id")
+    public void getNonExistingWeatherForecastByIdLoadTest() throws IOException {
+        runScenario("GET /weatherforecast/{invalid id}", () -> statusOf(client.request()
+                .get("/weatherforecast/999")), 404);
+    }
+
+    @Test
+    @DisplayName("Load testing POST /weatherForecast endpoint")
+    public void createWeatherForecastLoadTest() throws IOException {
+        WeatherForecast newForecast = new WeatherForecast(1, "2024-07-25", 25, "Warm");
+        runScenario("POST /weatherforecast", () -> statusOf(client.request()
+                .contentType(ContentType.JSON)
+                .body(newForecast)
+                .post("/weatherforecast")), 201);
+    }
+
+    /**
+     * Runs one scenario under load, reports the result and fails on unexpected statuses, errors, abandoned requests or a
+     * blown p99 budget.
+     */
+    private void runScenario(String scenario, IntSupplier request, int expectedStatus) throws IOException {
+        LoadResult result = loadGenerator.run(scenario, request, expectedStatus);
+        System.out.println(result.summary());
+        appendResult(result);
+
+        assertTrue(result.getRequestCount() > 0, "Expected at least one request for " + scenario);
+        assertEquals(0, result.getErrorCount(), "Requests failed without a response: " + result.summary());
+        assertEquals(0, result.getAbandonedCount(), "Requests did not complete in time: " + result.summary());
+        assertEquals(0, result.getUnexpectedStatusCount(), "Expected only status " + expectedStatus + ": " + result.summary());
+
+        int p99Budget = ConfigurationReader.getIntProperty("load.p99BudgetMillis", 0);
+        if (p99Budget > 0) {
+            long p99Millis = result.getLatency().getPercentileMicros(99) / 1000;
+            assertTrue(p99Millis <= p99Budget, "p99 latency " + p99Millis + " ms exceeds budget of " + p99Budget + " ms: " + result.summary());
+        }
+    }
+
+    /**
+     * Reads the whole body before returning the status, so the timing covers the full response
+     * and the pooled connection is released for the next request.
+     */
+    private static int statusOf(Response response) {
+        response.asByteArray();
+        return response.getStatusCode();
+    }
+
+    private static synchronized void appendResult(LoadResult result) throws IOException {
+        Files.createDirectories(RESULTS_FILE.getParent());
+        if (!Files.exists(RESULTS_FILE)) {
+            Files.write(RESULTS_FILE, "scenario,requests,throughput,p50_ms,p95_ms,p99_ms,max_ms,unexpected,errors\n"
+                    .getBytes(StandardCharsets.UTF_8));
+        }
+        Files.write(RESULTS_FILE, (result.toCsv() + "\n").getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+    }
+}
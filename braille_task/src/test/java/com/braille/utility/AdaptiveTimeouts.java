@@ -0,0 +1,243 @@
+package com.braille.utility;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timeouts for named waits, learned from how long each wait actually took in earlier runs. Every wait made through
+ * {@link MutationWait} with a name such as {@code WeatherPage.getWEATHER_TABLE} records its latency into a per-wait
+ * profile of the last {@code wait.adaptive.samples} (default 200) samples. The profiles are kept in
+ * {@code wait.adaptive.profile} (default {@code .wait-profile/latencies.properties}) across runs.
+ * <p>
+ * Once a wait has {@code wait.adaptive.minSamples} (default 20) samples, its timeout is the
+ * {@code wait.adaptive.percentile} (default 99th) percentile times {@code wait.adaptive.headroom} (default 3),
+ * kept between {@code wait.adaptive.minMillis} (default 1000) and {@code wait.adaptive.maxSeconds} (default 30).
+ * Until then, and with {@code wait.adaptive=false}, {@link MutationWait#DEFAULT_TIMEOUT} applies. A wait slower than
+ * {@code wait.adaptive.outlierFactor} (default 2) times that percentile is reported as an outlier.
+ * <p>
+ * Timeouts are counted but never become latency samples. Each timeout since the wait last succeeded adds
+ * {@code wait.adaptive.timeoutStepMillis} (default 1000) to the learned timeout, up to
+ * {@link MutationWait#DEFAULT_TIMEOUT}, so a wait that is merely slower than usual recovers while one that can never
+ * succeed still fails sooner than it would without a profile.
+ */
+public class AdaptiveTimeouts {
+    private static final boolean ENABLED = ConfigurationReader.getBooleanProperty("wait.adaptive", true);
+    private static final Path PROFILE_FILE = Paths.get(ConfigurationReader.getProperty("wait.adaptive.profile", ".wait-profile/latencies.properties"));
+    private static final int CAPACITY = ConfigurationReader.getIntProperty("wait.adaptive.samples", 200);
+    private static final int MIN_SAMPLES = ConfigurationReader.getIntProperty("wait.adaptive.minSamples", 20);
+    private static final double PERCENTILE = Double.parseDouble(ConfigurationReader.getProperty("wait.adaptive.percentile", "99"));
+    private static final double HEADROOM = Double.parseDouble(ConfigurationReader.getProperty("wait.adaptive.headroom", "3"));
+    private static final double OUTLIER_FACTOR = Double.parseDouble(ConfigurationReader.getProperty("wait.adaptive.outlierFactor", "2"));
+    private static final long MIN_MILLIS = ConfigurationReader.getIntProperty("wait.adaptive.minMillis", 1000);
+    private static final long MAX_MILLIS = ConfigurationReader.getIntProperty("wait.adaptive.maxSeconds", 30) * 1000L;
+    private static final long TIMEOUT_STEP_MILLIS = ConfigurationReader.getIntProperty("wait.adaptive.timeoutStepMillis", 1000);
+
+    private static final Map<String, WaitProfile> PROFILES = new ConcurrentHashMap<>();
+
+    static {
+        load();
+        Runtime.getRuntime().addShutdownHook(new Thread(AdaptiveTimeouts::save));
+    }
+
+    private AdaptiveTimeouts() {
+    }
+
+    /**
+     * @param waitName The wait's name, by convention {@code PageClass.method}.
+     * @return The timeout to use for the next run of the wait.
+     */
+    public static Duration timeoutFor(String waitName) {
+        if (!ENABLED) {
+            return MutationWait.DEFAULT_TIMEOUT;
+        }
+        WaitProfile profile = PROFILES.get(waitName);
+        if (profile == null) {
+            return MutationWait.DEFAULT_TIMEOUT;
+        }
+        long percentile;
+        long recentTimeouts;
+        synchronized (profile) {
+            percentile = profile.percentile(PERCENTILE);
+            recentTimeouts = profile.recentTimeouts;
+        }
+        if (percentile < 0) {
+            return MutationWait.DEFAULT_TIMEOUT;
+        }
+        long learned = Math.max(MIN_MILLIS, Math.min(MAX_MILLIS, (long) (percentile * HEADROOM)));
+        if (recentTimeouts == 0) {
+            return Duration.ofMillis(learned);
+        }
+        long ceiling = Math.max(learned, MutationWait.DEFAULT_TIMEOUT.toMillis());
+        return Duration.ofMillis(Math.min(ceiling, learned + recentTimeouts * TIMEOUT_STEP_MILLIS));
+    }
+
+    /**
+     * Records how long a successful wait took, reporting it if it is an outlier.
+     */
+    public static void record(String waitName, long millis) {
+        long percentile = PROFILES.computeIfAbsent(waitName, key -> new WaitProfile()).addSample(millis);
+        if (percentile >= 0) {
+            System.out.println("Slow wait: " + waitName + " took " + millis + " ms, its p" + formatPercentile() + " is " + percentile + " ms");
+        }
+    }
+
+    /**
+     * Records a wait that timed out. It is counted, but not added to the latency samples.
+     */
+    public static void recordTimeout(String waitName, Duration timeout) {
+        PROFILES.computeIfAbsent(waitName, key -> new WaitProfile()).addTimeout();
+        System.out.println("Wait " + waitName + " timed out after " + timeout.toMillis() + " ms");
+    }
+
+    private static String formatPercentile() {
+        return PERCENTILE == Math.rint(PERCENTILE) ? String.valueOf((long) PERCENTILE) : String.valueOf(PERCENTILE);
+    }
+
+    private static void load() {
+        if (!Files.isRegularFile(PROFILE_FILE)) {
+            return;
+        }
+        Properties properties = new Properties();
+        try (InputStream in = Files.newInputStream(PROFILE_FILE)) {
+            properties.load(in);
+        } catch (IOException e) {
+            System.out.println("Ignoring unreadable wait profile " + PROFILE_FILE + ": " + e.getMessage());
+            return;
+        }
+        for (String key : properties.stringPropertyNames()) {
+            if (!key.endsWith(".samples")) {
+                continue;
+            }
+            String waitName = key.substring(0, key.length() - ".samples".length());
+            WaitProfile profile = new WaitProfile();
+            try {
+                for (String sample : properties.getProperty(key).split(",")) {
+                    if (!sample.trim().isEmpty()) {
+                        profile.add(Long.parseLong(sample.trim()));
+                    }
+                }
+                profile.timeouts = Long.parseLong(properties.getProperty(waitName + ".timeouts", "0").trim());
+                profile.outliers = Long.parseLong(properties.getProperty(waitName + ".outliers", "0").trim());
+                profile.recentTimeouts = Long.parseLong(properties.getProperty(waitName + ".recentTimeouts", "0").trim());
+            } catch (NumberFormatException e) {
+                System.out.println("Ignoring the malformed wait profile of " + waitName + ": " + e.getMessage());
+                continue;
+            }
+            PROFILES.put(waitName, profile);
+        }
+    }
+
+    private static void save() {
+        if (PROFILES.isEmpty()) {
+            return;
+        }
+        Properties properties = new Properties();
+        PROFILES.forEach((waitName, profile) -> {
+            synchronized (profile) {
+                StringBuilder samples = new StringBuilder();
+                for (long sample : profile.chronological()) {
+                    samples.append(samples.length() == 0 ? "" : ",").append(sample);
+                }
+                properties.setProperty(waitName + ".samples", samples.toString());
+                properties.setProperty(waitName + ".timeouts", String.valueOf(profile.timeouts));
+                properties.setProperty(waitName + ".outliers", String.valueOf(profile.outliers));
+                properties.setProperty(waitName + ".recentTimeouts", String.valueOf(profile.recentTimeouts));
+            }
+        });
+        try {
+            Path directory = PROFILE_FILE.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            // Several JVMs may save at once, so each writes its own file and moves it over the profile in one step.
+            Path temporary = PROFILE_FILE.resolveSibling(PROFILE_FILE.getFileName() + "." + UUID.randomUUID() + ".tmp");
+            try {
+                try (OutputStream out = Files.newOutputStream(temporary)) {
+                    properties.store(out, "Latency samples in milliseconds per named wait, see AdaptiveTimeouts");
+                }
+                try {
+                    Files.move(temporary, PROFILE_FILE, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temporary, PROFILE_FILE, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        } catch (IOException e) {
+            System.out.println("Could not write the wait profile " + PROFILE_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * The most recent latency samples of one wait, in a ring buffer.
+     */
+    private static final class WaitProfile {
+        private final long[] samples = new long[Math.max(1, CAPACITY)];
+        private int size;
+        private int next;
+        long timeouts;
+        long outliers;
+        long recentTimeouts;
+
+        synchronized void add(long millis) {
+            samples[next] = millis;
+            next = (next + 1) % samples.length;
+            size = Math.min(size + 1, samples.length);
+        }
+
+        /**
+         * Adds a sample of a successful wait, counting it as an outlier if it is much slower than the percentile.
+         *
+         * @return The percentile the sample was compared with if it is an outlier, otherwise -1.
+         */
+        synchronized long addSample(long millis) {
+            long percentile = percentile(PERCENTILE);
+            boolean outlier = percentile >= 0 && millis > percentile * OUTLIER_FACTOR;
+            if (outlier) {
+                outliers++;
+            }
+            recentTimeouts = 0;
+            add(millis);
+            return outlier ? percentile : -1;
+        }
+
+        synchronized void addTimeout() {
+            timeouts++;
+            recentTimeouts++;
+        }
+
+        /**
+         * @return The percentile in milliseconds, or -1 while there are fewer than the minimum number of samples.
+         */
+        synchronized long percentile(double percentile) {
+            if (size < MIN_SAMPLES || size == 0) {
+                return -1;
+            }
+            long[] sorted = Arrays.copyOf(chronological(), size);
+            Arrays.sort(sorted);
+            int rank = (int) Math.ceil(percentile / 100.0 * size);
+            return sorted[Math.max(0, Math.min(size - 1, rank - 1))];
+        }
+
+        synchronized long[] chronological() {
+            long[] ordered = new long[size];
+            int start = size < samples.length ? 0 : next;
+            for (int i = 0; i < size; i++) {
+                ordered[i] = samples[(start + i) % samples.length];
+            }
+            return ordered;
+        }
+    }
+}
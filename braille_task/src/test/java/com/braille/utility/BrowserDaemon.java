@@ -0,0 +1,283 @@
+package com.braille.utility;
+
+import org.openqa.selenium.Capabilities;
+import org.openqa.selenium.MutableCapabilities;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+import org.openqa.selenium.WrapsDriver;
+import org.openqa.selenium.remote.Command;
+import org.openqa.selenium.remote.CommandCodec;
+import org.openqa.selenium.remote.CommandExecutor;
+import org.openqa.selenium.remote.DriverCommand;
+import org.openqa.selenium.remote.LocalFileDetector;
+import org.openqa.selenium.remote.RemoteWebDriver;
+import org.openqa.selenium.remote.Response;
+import org.openqa.selenium.remote.ResponseCodec;
+import org.openqa.selenium.remote.SessionId;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpCommandCodec;
+import org.openqa.selenium.remote.codec.w3c.W3CHttpResponseCodec;
+import org.openqa.selenium.remote.http.ClientConfig;
+import org.openqa.selenium.remote.http.HttpClient;
+import org.openqa.selenium.remote.http.HttpRequest;
+import org.openqa.selenium.remote.http.HttpResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Properties;
+import java.util.function.Consumer;
+
+/**
+ * Keeps browser sessions alive on a long-running local Selenium server ({@code driver.remote.url}, see
+ * {@code browser-daemon.sh}) between test runs, so a run can start with warm browsers instead of launching new ones.
+ * <p>
+ * When a run ends, its idle sessions are not quit but parked in the registry file {@code driver.remote.registry}
+ * (default {@code .browser-daemon/sessions.properties}). The next run claims the parked sessions for its browser and
+ * server, and {@link Driver} reattaches to them before starting new ones. Claiming happens under a file lock, so
+ * concurrent runs never share a session. Sessions parked for longer than {@code driver.remote.idleTimeoutSeconds}
+ * (default 1800), and sessions that no longer respond, are quit instead of reused.
+ */
+public class BrowserDaemon {
+    private final URL url;
+    private final String browser;
+    private final Path registry = Paths.get(ConfigurationReader.getProperty("driver.remote.registry", ".browser-daemon/sessions.properties"));
+    private final Duration idleTimeout = Duration.ofSeconds(ConfigurationReader.getIntProperty("driver.remote.idleTimeoutSeconds", 1800));
+    private final Deque<ParkedSession> claimed = new ArrayDeque<>();
+
+    public BrowserDaemon(URL url, String browser) {
+        this.url = url;
+        this.browser = browser;
+        claimParkedSessions();
+    }
+
+    /**
+     * Starts a new session on the server. A parked session this run has not reattached to is quit first, so the
+     * server never holds more sessions than the pool allows.
+     */
+    public RemoteWebDriver start(Capabilities options) {
+        ParkedSession unused;
+        synchronized (this) {
+            unused = claimed.pollLast();
+        }
+        if (unused != null) {
+            try {
+                attach(unused.sessionId).quit();
+            } catch (WebDriverException e) {
+                // The server already ended the session.
+            }
+        }
+        RemoteWebDriver driver = new RemoteWebDriver(url, options);
+        driver.setFileDetector(new LocalFileDetector());
+        return driver;
+    }
+
+    /**
+     * Reattaches to the next healthy session parked by an earlier run.
+     *
+     * @return The session, or {@code null} if there is none left.
+     */
+    public synchronized ParkedSession reattach() {
+        ParkedSession parked;
+        while ((parked = claimed.pollFirst()) != null) {
+            AttachedSessionExecutor executor = new AttachedSessionExecutor(url, parked.sessionId, browser);
+            try {
+                RemoteWebDriver driver = attach(executor);
+                driver.getWindowHandle();
+                parked.driver = driver;
+                return parked;
+            } catch (WebDriverException e) {
+                executor.close();
+                System.out.println("Dropping parked browser session " + parked.sessionId + ": it no longer responds");
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Parks the given idle sessions, and the claimed ones this run did not need, for the next run.
+     *
+     * @param downloadDirectories The download directory of each session.
+     */
+    public synchronized void park(Iterable<WebDriver> drivers, Map<WebDriver, Path> downloadDirectories) {
+        long now = System.currentTimeMillis();
+        withRegistry(sessions -> {
+            for (WebDriver driver : drivers) {
+                SessionId sessionId = sessionId(driver);
+                Path downloadDirectory = downloadDirectories.get(driver);
+                if (sessionId != null) {
+                    sessions.setProperty(sessionId.toString(), new ParkedSession(sessionId.toString(), now,
+                            downloadDirectory != null ? downloadDirectory.toString() : "").toRegistryValue(url, browser));
+                }
+            }
+            for (ParkedSession parked : claimed) {
+                sessions.setProperty(parked.sessionId, parked.toRegistryValue(url, browser));
+            }
+        });
+        claimed.clear();
+    }
+
+    /**
+     * Takes this server's and browser's sessions out of the registry, quitting the ones that idled too long.
+     */
+    private void claimParkedSessions() {
+        long expiry = System.currentTimeMillis() - idleTimeout.toMillis();
+        withRegistry(sessions -> {
+            for (String sessionId : sessions.stringPropertyNames()) {
+                String[] fields = sessions.getProperty(sessionId).split("\\|", 4);
+                if (fields.length < 4 || !fields[0].equals(url.toString()) || !fields[1].equals(browser)) {
+                    continue;
+                }
+                sessions.remove(sessionId);
+                ParkedSession parked;
+                try {
+                    parked = new ParkedSession(sessionId, Long.parseLong(fields[2]), fields[3]);
+                } catch (NumberFormatException e) {
+                    System.out.println("Ignoring malformed parked browser session " + sessionId + " in " + registry);
+                    continue;
+                }
+                if (parked.parkedAt < expiry) {
+                    try {
+                        attach(sessionId).quit();
+                    } catch (WebDriverException e) {
+                        // The server already ended the session.
+                    }
+                } else {
+                    claimed.add(parked);
+                }
+            }
+        });
+        if (!claimed.isEmpty()) {
+            System.out.println("Claimed " + claimed.size() + " parked browser session(s) on " + url);
+        }
+    }
+
+    private RemoteWebDriver attach(String sessionId) {
+        return attach(new AttachedSessionExecutor(url, sessionId, browser));
+    }
+
+    private RemoteWebDriver attach(AttachedSessionExecutor executor) {
+        RemoteWebDriver driver = new RemoteWebDriver(executor,
+                new MutableCapabilities(Collections.singletonMap("browserName", browser)));
+        driver.setFileDetector(new LocalFileDetector());
+        return driver;
+    }
+
+    /**
+     * Reads the registry, lets the caller change it and writes it back, holding a lock on the file throughout.
+     */
+    private void withRegistry(Consumer<Properties> update) {
+        try {
+            Path directory = registry.toAbsolutePath().getParent();
+            if (directory != null) {
+                Files.createDirectories(directory);
+            }
+            try (FileChannel channel = FileChannel.open(registry, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                FileLock lock = channel.lock();
+                try {
+                    Properties sessions = new Properties();
+                    InputStream in = Channels.newInputStream(channel);
+                    sessions.load(in);
+                    update.accept(sessions);
+                    channel.truncate(0);
+                    channel.position(0);
+                    OutputStream out = Channels.newOutputStream(channel);
+                    sessions.store(out, "Browser sessions parked on a local Selenium server, see BrowserDaemon");
+                    out.flush();
+                } finally {
+                    lock.release();
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not update the browser session registry " + registry, e);
+        }
+    }
+
+    private static SessionId sessionId(WebDriver driver) {
+        while (driver instanceof WrapsDriver && !(driver instanceof RemoteWebDriver)) {
+            driver = ((WrapsDriver) driver).getWrappedDriver();
+        }
+        return driver instanceof RemoteWebDriver ? ((RemoteWebDriver) driver).getSessionId() : null;
+    }
+
+    /**
+     * A session left running by an earlier run.
+     */
+    public static final class ParkedSession {
+        final String sessionId;
+        final long parkedAt;
+        final String downloadDirectory;
+        RemoteWebDriver driver;
+
+        ParkedSession(String sessionId, long parkedAt, String downloadDirectory) {
+            this.sessionId = sessionId;
+            this.parkedAt = parkedAt;
+            this.downloadDirectory = downloadDirectory;
+        }
+
+        public RemoteWebDriver getDriver() {
+            return driver;
+        }
+
+        /**
+         * @return The directory the session downloads to, or {@code null} if it was not recorded.
+         */
+        public Path getDownloadDirectory() {
+            return downloadDirectory.isEmpty() ? null : Paths.get(downloadDirectory);
+        }
+
+        String toRegistryValue(URL url, String browser) {
+            return url + "|" + browser + "|" + parkedAt + "|" + downloadDirectory;
+        }
+    }
+
+    /**
+     * Sends commands to an existing session instead of creating one: the new-session command is answered locally
+     * with the parked session's id, and every other command goes to the server as usual.
+     */
+    private static final class AttachedSessionExecutor implements CommandExecutor {
+        private final CommandCodec<HttpRequest> commandCodec = new W3CHttpCommandCodec();
+        private final ResponseCodec<HttpResponse> responseCodec = new W3CHttpResponseCodec();
+        private final HttpClient client;
+        private final String sessionId;
+        private final String browser;
+
+        AttachedSessionExecutor(URL url, String sessionId, String browser) {
+            this.client = HttpClient.Factory.createDefault().createClient(ClientConfig.defaultConfig().baseUrl(url));
+            this.sessionId = sessionId;
+            this.browser = browser;
+        }
+
+        @Override
+        public Response execute(Command command) throws IOException {
+            if (DriverCommand.NEW_SESSION.equals(command.getName())) {
+                Response response = new Response(new SessionId(sessionId));
+                response.setState("success");
+                response.setValue(Collections.singletonMap("browserName", browser));
+                return response;
+            }
+            Response response = responseCodec.decode(client.execute(commandCodec.encode(command)));
+            if (DriverCommand.QUIT.equals(command.getName())) {
+                client.close();
+            }
+            return response;
+        }
+
+        void close() {
+            client.close();
+        }
+    }
+}
@@ -0,0 +1,163 @@
+package com.braille.utility;
+
+import com.braille.api.LatencyHistogram;
+import org.json.JSONArray;
+import org.json.JSONObject;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the latency of every WebDriver command recorded by {@link WebDriverTimingListener}, grouped by command
+ * (e.g. {@code findElement}), by the page-object method that issued it (e.g. {@code WeatherPage.captureTableData})
+ * and, for element lookups, by locator. Lookups are also counted per test, as set with {@link #startTest(String)}.
+ * <p>
+ * On JVM exit the numbers are written to {@code target/webdriver-metrics.json} and, in Prometheus text format,
+ * to {@code target/webdriver-metrics.prom}. The directory can be changed with {@code metrics.dir}.
+ */
+public class CommandMetrics {
+    private static final Map<String, LatencyHistogram> COMMANDS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> PAGE_METHODS = new ConcurrentHashMap<>();
+    private static final Map<String, LatencyHistogram> LOCATORS = new ConcurrentHashMap<>();
+    private static final Map<String, LongAdder> FIND_ELEMENT_CALLS_PER_TEST = new ConcurrentHashMap<>();
+    private static final ThreadLocal<String> CURRENT_TEST = new ThreadLocal<>();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            try {
+                export(Paths.get(ConfigurationReader.getProperty("metrics.dir", "target")));
+            } catch (IOException e) {
+                System.out.println("Could not write WebDriver metrics: " + e.getMessage());
+            }
+        }));
+    }
+
+    private CommandMetrics() {
+    }
+
+    /**
+     * Attributes the element lookups made by the current thread to the given test until {@link #endTest()}.
+     */
+    public static void startTest(String testName) {
+        CURRENT_TEST.set(testName);
+    }
+
+    public static void endTest() {
+        CURRENT_TEST.remove();
+    }
+
+    /**
+     * Records one WebDriver command.
+     *
+     * @param command    The WebDriver method name.
+     * @param pageMethod The page-object method that issued the command, or {@code null} if it came from elsewhere.
+     * @param locator    The locator of an element lookup, or {@code null} for other commands.
+     * @param micros     The command latency in microseconds.
+     */
+    static void record(String command, String pageMethod, String locator, long micros) {
+        COMMANDS.computeIfAbsent(command, key -> new LatencyHistogram()).record(micros);
+        if (pageMethod != null) {
+            PAGE_METHODS.computeIfAbsent(pageMethod, key -> new LatencyHistogram()).record(micros);
+        }
+        if (locator != null) {
+            LOCATORS.computeIfAbsent(locator, key -> new LatencyHistogram()).record(micros);
+            String test = CURRENT_TEST.get();
+            FIND_ELEMENT_CALLS_PER_TEST.computeIfAbsent(test != null ? test : "(no test)", key -> new LongAdder()).increment();
+        }
+    }
+
+    /**
+     * Writes the JSON report and the Prometheus text file to the given directory.
+     */
+    public static void export(Path directory) throws IOException {
+        if (COMMANDS.isEmpty()) {
+            return;
+        }
+        Files.createDirectories(directory);
+        JSONObject report = new JSONObject();
+        report.put("commands", toJson(COMMANDS, "command"));
+        report.put("pageMethods", toJson(PAGE_METHODS, "pageMethod"));
+        report.put("locators", toJson(LOCATORS, "locator"));
+        JSONArray tests = new JSONArray();
+        for (Map.Entry<String, Long> entry : findElementCallsPerTest()) {
+            tests.put(new JSONObject().put("test", entry.getKey()).put("findElementCalls", entry.getValue()));
+        }
+        report.put("findElementCallsPerTest", tests);
+        Files.write(directory.resolve("webdriver-metrics.json"), report.toString(2).getBytes(StandardCharsets.UTF_8));
+
+        try (Writer out = Files.newBufferedWriter(directory.resolve("webdriver-metrics.prom"), StandardCharsets.UTF_8)) {
+            writeSummary(out, "webdriver_command_duration_seconds", "Latency of WebDriver commands by command.", "command", COMMANDS);
+            writeSummary(out, "webdriver_page_method_command_duration_seconds",
+                    "Latency of WebDriver commands by the page-object method that issued them.", "page_method", PAGE_METHODS);
+            writeSummary(out, "webdriver_locator_duration_seconds", "Latency of element lookups by locator.", "locator", LOCATORS);
+            out.write("# HELP webdriver_test_find_element_calls Element lookups made by each test.\n");
+            out.write("# TYPE webdriver_test_find_element_calls gauge\n");
+            for (Map.Entry<String, Long> entry : findElementCallsPerTest()) {
+                out.write("webdriver_test_find_element_calls{test=\"" + escape(entry.getKey()) + "\"} " + entry.getValue() + "\n");
+            }
+        }
+    }
+
+    /**
+     * @return The entries sorted by total time, slowest first.
+     */
+    private static List<Map.Entry<String, LatencyHistogram>> byTotalTime(Map<String, LatencyHistogram> histograms) {
+        List<Map.Entry<String, LatencyHistogram>> entries = new ArrayList<>(histograms.entrySet());
+        entries.sort(Comparator.comparingDouble((Map.Entry<String, LatencyHistogram> entry) ->
+                entry.getValue().getMeanMicros() * entry.getValue().getCount()).reversed());
+        return entries;
+    }
+
+    private static List<Map.Entry<String, Long>> findElementCallsPerTest() {
+        List<Map.Entry<String, Long>> entries = new ArrayList<>();
+        FIND_ELEMENT_CALLS_PER_TEST.forEach((test, calls) -> entries.add(Map.entry(test, calls.sum())));
+        entries.sort(Map.Entry.<String, Long>comparingByValue().reversed());
+        return entries;
+    }
+
+    private static JSONArray toJson(Map<String, LatencyHistogram> histograms, String keyName) {
+        JSONArray array = new JSONArray();
+        for (Map.Entry<String, LatencyHistogram> entry : byTotalTime(histograms)) {
+            LatencyHistogram histogram = entry.getValue();
+            array.put(new JSONObject()
+                    .put(keyName, entry.getKey())
+                    .put("count", histogram.getCount())
+                    .put("totalMillis", histogram.getMeanMicros() * histogram.getCount() / 1000.0)
+                    .put("meanMillis", histogram.getMeanMicros() / 1000.0)
+                    .put("p50Millis", histogram.getPercentileMicros(50) / 1000.0)
+                    .put("p95Millis", histogram.getPercentileMicros(95) / 1000.0)
+                    .put("maxMillis", histogram.getMaxMicros() / 1000.0));
+        }
+        return array;
+    }
+
+    private static void writeSummary(Writer out, String name, String help, String label,
+                                     Map<String, LatencyHistogram> histograms) throws IOException {
+        out.write("# HELP " + name + " " + help + "\n");
+        out.write("# TYPE " + name + " summary\n");
+        for (Map.Entry<String, LatencyHistogram> entry : byTotalTime(histograms)) {
+            LatencyHistogram histogram = entry.getValue();
+            String labels = label + "=\"" + escape(entry.getKey()) + "\"";
+            for (double quantile : new double[]{0.5, 0.95, 0.99}) {
+                out.write(name + "{" + labels + ",quantile=\"" + quantile + "\"} "
+                        + histogram.getPercentileMicros(quantile * 100) / 1e6 + "\n");
+            }
+            out.write(name + "_sum{" + labels + "} " + histogram.getMeanMicros() * histogram.getCount() / 1e6 + "\n");
+            out.write(name + "_count{" + labels + "} " + histogram.getCount() + "\n");
+        }
+    }
+
+    private static String escape(String labelValue) {
+        return labelValue.replace("\\", "\\\\").replace("\"", "\\\"").replace("\n", "\\n");
+    }
+}
@@ -23,4 +23,25 @@ public class ConfigurationReader {
 
         return properties.getProperty(keyword);
     }
+
+    /**
+     * Returns the value of the given property, letting a JVM system property (e.g. {@code -Dkeyword=value})
+     * override the value from configuration.properties.
+     *
+     * @param keyword      The property name.
+     * @param defaultValue The value returned when the property is not set anywhere.
+     * @return The resolved property value.
+     */
+    public static String getProperty(String keyword, String defaultValue) {
+        String value = System.getProperty(keyword, properties.getProperty(keyword));
+        return value != null ? value : defaultValue;
+    }
+
+    public static int getIntProperty(String keyword, int defaultValue) {
+        return Integer.parseInt(getProperty(keyword, String.valueOf(defaultValue)).trim());
+    }
+
+    public static boolean getBooleanProperty(String keyword, boolean defaultValue) {
+        return Boolean.parseBoolean(getProperty(keyword, String.valueOf(defaultValue)).trim());
+    }
 }
@@ -0,0 +1,129 @@
+package com.braille.utility;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Detects a finished browser download in a download directory through a {@link WatchService} instead of sleeping.
+ * Start watching before triggering the download, so a fast download can't complete unnoticed:
+ * <pre>
+ * try (DownloadWatcher download = DownloadWatcher.watch(Driver.getDownloadDirectory())) {
+ *     weatherPage.clickDownloadButton();
+ *     Path file = download.awaitFile(Duration.ofSeconds(30));
+ * }
+ * </pre>
+ * A download counts as finished once a new file exists and no partial file ({@code .crdownload}, {@code .part},
+ * {@code .tmp}) is left in the directory, which covers both Chrome's rename-on-completion and Firefox's placeholder files.
+ */
+public class DownloadWatcher implements AutoCloseable {
+    private static final List<String> PARTIAL_SUFFIXES = List.of(".crdownload", ".part", ".tmp");
+
+    private final Path directory;
+    private final WatchService watchService;
+    private final Set<Path> existingFiles;
+
+    private DownloadWatcher(Path directory) throws IOException {
+        this.directory = directory;
+        this.watchService = FileSystems.getDefault().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+        this.existingFiles = new HashSet<>(listFiles());
+    }
+
+    /**
+     * Starts watching the directory. Files already in it are never reported as the download.
+     *
+     * @throws UncheckedIOException If the directory can't be watched.
+     */
+    public static DownloadWatcher watch(Path directory) {
+        if (directory == null) {
+            throw new IllegalArgumentException("No download directory to watch");
+        }
+        try {
+            Files.createDirectories(directory);
+            return new DownloadWatcher(directory);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not watch download directory " + directory, e);
+        }
+    }
+
+    /**
+     * Blocks until a download has finished.
+     *
+     * @param timeout How long to wait for the download to start and finish.
+     * @return The downloaded file.
+     * @throws IllegalStateException If no download finishes within the timeout.
+     */
+    public Path awaitFile(Duration timeout) {
+        long deadline = System.nanoTime() + timeout.toNanos();
+        try {
+            Path finished = findFinishedDownload();
+            while (finished == null) {
+                long remaining = deadline - System.nanoTime();
+                if (remaining <= 0) {
+                    throw new IllegalStateException("No download finished in " + directory + " within " + timeout
+                            + ", found: " + listFiles());
+                }
+                WatchKey key = watchService.poll(remaining, TimeUnit.NANOSECONDS);
+                if (key != null) {
+                    key.pollEvents();
+                    key.reset();
+                }
+                finished = findFinishedDownload();
+            }
+            return finished;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a download in " + directory, e);
+        } catch (ClosedWatchServiceException e) {
+            throw new IllegalStateException("Download watcher for " + directory + " is closed", e);
+        }
+    }
+
+    private Path findFinishedDownload() {
+        Path finished = null;
+        for (Path file : listFiles()) {
+            String name = file.getFileName().toString();
+            if (PARTIAL_SUFFIXES.stream().anyMatch(name::endsWith)) {
+                return null;
+            }
+            if (!existingFiles.contains(file) && Files.isRegularFile(file)) {
+                finished = file;
+            }
+        }
+        return finished;
+    }
+
+    private List<Path> listFiles() {
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+            entries.forEach(files::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not list download directory " + directory, e);
+        }
+        return files;
+    }
+
+    @Override
+    public void close() {
+        try {
+            watchService.close();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
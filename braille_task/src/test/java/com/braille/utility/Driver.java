@@ -1,38 +1,246 @@
 package com.braille.utility;
 
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.MutableCapabilities;
 import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
 import org.openqa.selenium.chrome.ChromeDriver;
+import org.openqa.selenium.chrome.ChromeOptions;
 import org.openqa.selenium.firefox.FirefoxDriver;
+import org.openqa.selenium.firefox.FirefoxOptions;
+import org.openqa.selenium.support.events.EventFiringDecorator;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URL;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Hands every test thread its own browser session leased from a shared {@link DriverPool},
+ * so tests can run in parallel without racing on one browser.
+ * The pool size is read from the {@code driver.pool.size} property (default 4), which is also how many JUnit tests
+ * run at once, see {@link DriverPoolParallelism}.
+ * Unless {@code metrics.enabled=false}, every session is decorated with a {@link WebDriverTimingListener}
+ * so command latencies end up in {@link CommandMetrics}.
+ * Every session downloads into its own directory below {@code download.dir} (default {@code target/downloads}),
+ * see {@link #getDownloadDirectory()}, so parallel tests never see each other's downloads.
+ * <p>
+ * With {@code driver.remote.url} set (e.g. {@code http://localhost:4444}, started with {@code browser-daemon.sh}),
+ * sessions run on that Selenium server instead, and the pool's idle sessions are handed to {@link BrowserDaemon}
+ * at exit rather than quit, so the next run reuses the same warm browsers.
+ */
 public class Driver {
 
     private Driver() {
     }
 
-    private static WebDriver driver;
+    private static final DriverPool POOL = new DriverPool(
+            ConfigurationReader.getIntProperty("driver.pool.size", 4),
+            Duration.ofSeconds(ConfigurationReader.getIntProperty("driver.pool.leaseTimeoutSeconds", 120)),
+            () -> createDriver(false),
+            () -> createDriver(true));
+
+    private static final ThreadLocal<WebDriver> driver = new ThreadLocal<>();
+
+    private static final boolean METRICS_ENABLED = ConfigurationReader.getBooleanProperty("metrics.enabled", true);
+
+    private static final Path DOWNLOAD_ROOT = Paths.get(ConfigurationReader.getProperty("download.dir", "target/downloads")).toAbsolutePath();
+
+    private static final Map<WebDriver, Path> downloadDirectories = new ConcurrentHashMap<>();
+
+    private static final String BROWSER = ConfigurationReader.getProperty("browser", "chrome");
 
+    private static final BrowserDaemon DAEMON = createDaemon();
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(DAEMON != null ? Driver::parkSessions : POOL::shutdown));
+    }
+
+    /**
+     * Returns the browser session leased by the current thread, leasing one from the pool on first use.
+     *
+     * @return The current thread's {@link WebDriver}.
+     */
     public static WebDriver getDriver() {
 
-        if (driver == null) {
-            String browserType = ConfigurationReader.getProperty("browser");
-            switch (browserType) {
-                case "chrome":
-                    driver = new ChromeDriver();
-                    driver.manage().window().maximize();
-                    break;
-                case "firefox":
-                    driver = new FirefoxDriver();
-                    driver.manage().window().maximize();
-                    break;
-            }
+        if (driver.get() == null) {
+            driver.set(POOL.lease());
+        }
+        return driver.get();
+    }
+
+    /**
+     * Returns a newly started browser session for the current thread, quitting any session it already holds.
+     * Pair it with {@link #quitDriver()} so the session is not reused by other tests.
+     *
+     * @return The current thread's {@link WebDriver}.
+     */
+    public static WebDriver getFreshDriver() {
+        quitDriver();
+        driver.set(POOL.leaseFresh());
+        return driver.get();
+    }
+
+    /**
+     * Clears cookies, local storage and session storage of the current thread's browser session
+     * so it can be reused by the next test. A session that can't be reset is quit instead.
+     */
+    public static void resetSession() {
+        if (driver.get() == null) {
+            return;
+        }
+        try {
+            driver.get().manage().deleteAllCookies();
+            ((JavascriptExecutor) driver.get()).executeScript("window.localStorage.clear(); window.sessionStorage.clear();");
+            clearDownloads(downloadDirectories.get(driver.get()));
+        } catch (WebDriverException | UncheckedIOException e) {
+            quitDriver();
+        }
+    }
+
+    /**
+     * Returns the directory the current thread's browser session downloads files to.
+     *
+     * @return The session's own download directory.
+     * @throws IllegalStateException If the directory is unknown, e.g. for a session parked without one.
+     */
+    public static Path getDownloadDirectory() {
+        Path directory = downloadDirectories.get(getDriver());
+        if (directory == null) {
+            throw new IllegalStateException("The current browser session has no known download directory: it was reattached from a session parked without one");
         }
-        return driver;
+        return directory;
     }
 
+    /**
+     * Returns the current thread's browser session to the pool so another test can reuse it.
+     */
     public static void closeDriver() {
-        if (driver != null) {
-            driver.quit();
-            driver = null;
+        if (driver.get() != null) {
+            POOL.release(driver.get());
+            driver.remove();
+        }
+    }
+
+    /**
+     * Quits the current thread's browser session instead of returning it to the pool.
+     * Use this when the browser crashed or was left in a state that must not leak into other tests.
+     */
+    public static void quitDriver() {
+        if (driver.get() != null) {
+            downloadDirectories.remove(driver.get());
+            POOL.invalidate(driver.get());
+            driver.remove();
+        }
+    }
+
+    /**
+     * @param fresh Whether the session must be newly started, rather than reattached from an earlier run.
+     */
+    private static WebDriver createDriver(boolean fresh) {
+        WebDriver newDriver = null;
+        Path downloadDirectory = null;
+        BrowserDaemon.ParkedSession parked = DAEMON != null && !fresh ? DAEMON.reattach() : null;
+        if (parked != null) {
+            newDriver = parked.getDriver();
+            downloadDirectory = parked.getDownloadDirectory();
+            if (downloadDirectory != null) {
+                try {
+                    Files.createDirectories(downloadDirectory);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Could not create download directory " + downloadDirectory, e);
+                }
+            }
+        }
+        if (newDriver == null) {
+            downloadDirectory = createDownloadDirectory();
+            MutableCapabilities options = browserOptions(downloadDirectory);
+            if (DAEMON != null) {
+                newDriver = DAEMON.start(options);
+            } else if (options instanceof ChromeOptions) {
+                newDriver = new ChromeDriver((ChromeOptions) options);
+            } else {
+                newDriver = new FirefoxDriver((FirefoxOptions) options);
+            }
+            newDriver.manage().window().maximize();
+        }
+        if (METRICS_ENABLED) {
+            newDriver = new EventFiringDecorator<>(new WebDriverTimingListener()).decorate(newDriver);
+        }
+        if (downloadDirectory != null) {
+            downloadDirectories.put(newDriver, downloadDirectory);
+        }
+        return newDriver;
+    }
+
+    private static MutableCapabilities browserOptions(Path downloadDirectory) {
+        switch (BROWSER) {
+            case "chrome":
+                Map<String, Object> preferences = new HashMap<>();
+                preferences.put("download.default_directory", downloadDirectory.toString());
+                preferences.put("download.prompt_for_download", false);
+                return new ChromeOptions().setExperimentalOption("prefs", preferences);
+            case "firefox":
+                return new FirefoxOptions()
+                        .addPreference("browser.download.folderList", 2)
+                        .addPreference("browser.download.dir", downloadDirectory.toString())
+                        .addPreference("browser.download.useDownloadDir", true)
+                        .addPreference("browser.helperApps.neverAsk.saveToDisk", "text/csv,application/json,application/octet-stream");
+            default:
+                throw new IllegalArgumentException("Unsupported browser type: " + BROWSER);
+        }
+    }
+
+    private static BrowserDaemon createDaemon() {
+        String remoteUrl = ConfigurationReader.getProperty("driver.remote.url", "");
+        if (remoteUrl.isEmpty()) {
+            return null;
+        }
+        try {
+            return new BrowserDaemon(new URL(remoteUrl), BROWSER);
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid driver.remote.url: " + remoteUrl, e);
+        }
+    }
+
+    /**
+     * Leaves the idle sessions running on the Selenium server for the next run and quits the rest.
+     */
+    private static void parkSessions() {
+        try {
+            DAEMON.park(POOL.detachIdle(), downloadDirectories);
+        } finally {
+            POOL.shutdown();
+        }
+    }
+
+    private static Path createDownloadDirectory() {
+        try {
+            Files.createDirectories(DOWNLOAD_ROOT);
+            return Files.createTempDirectory(DOWNLOAD_ROOT, "session-");
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not create a download directory in " + DOWNLOAD_ROOT, e);
+        }
+    }
+
+    private static void clearDownloads(Path downloadDirectory) {
+        if (downloadDirectory == null) {
+            return;
+        }
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(downloadDirectory)) {
+            for (Path file : files) {
+                Files.deleteIfExists(file);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Could not clear download directory " + downloadDirectory, e);
         }
     }
 }
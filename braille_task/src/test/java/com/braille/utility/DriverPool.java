@@ -0,0 +1,194 @@
+package com.braille.utility;
+
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.BlockingDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * A bounded, thread-safe pool of browser sessions.
+ * At most {@code maxSize} sessions exist at any time; a thread leases one with {@link #lease()},
+ * uses it exclusively and hands it back with {@link #release(WebDriver)}.
+ * Idle sessions are health-checked before being handed out again and crashed ones are evicted.
+ * Releasing or invalidating a session that is not currently leased, e.g. twice in a row, does nothing.
+ */
+public class DriverPool {
+    private final Supplier<WebDriver> factory;
+    private final Supplier<WebDriver> freshFactory;
+    private final Duration leaseTimeout;
+    private final Semaphore permits;
+    private final BlockingDeque<WebDriver> idle = new LinkedBlockingDeque<>();
+    private final Set<WebDriver> sessions = ConcurrentHashMap.newKeySet();
+    private final Set<WebDriver> leased = ConcurrentHashMap.newKeySet();
+
+    public DriverPool(int maxSize, Duration leaseTimeout, Supplier<WebDriver> factory) {
+        this(maxSize, leaseTimeout, factory, factory);
+    }
+
+    /**
+     * @param freshFactory Starts the sessions handed out by {@link #leaseFresh()}, for factories whose sessions
+     *                     may otherwise have been used before, like reattached {@link BrowserDaemon} sessions.
+     */
+    public DriverPool(int maxSize, Duration leaseTimeout, Supplier<WebDriver> factory, Supplier<WebDriver> freshFactory) {
+        if (maxSize < 1) {
+            throw new IllegalArgumentException("Driver pool size must be at least 1, but was: " + maxSize);
+        }
+        this.factory = factory;
+        this.freshFactory = freshFactory;
+        this.leaseTimeout = leaseTimeout;
+        this.permits = new Semaphore(maxSize, true);
+    }
+
+    /**
+     * Leases a browser session, reusing a healthy idle one when available and starting a new one otherwise.
+     * Blocks while all sessions are leased by other threads.
+     *
+     * @return A browser session owned by the calling thread until it is released or invalidated.
+     * @throws IllegalStateException If no session becomes available within the lease timeout.
+     */
+    public WebDriver lease() {
+        acquirePermit();
+        try {
+            WebDriver driver;
+            while ((driver = idle.pollFirst()) != null) {
+                if (isHealthy(driver)) {
+                    leased.add(driver);
+                    return driver;
+                }
+                destroy(driver);
+            }
+            return startSession(factory);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Leases a newly started browser session, discarding an idle one if that is needed to stay within the bound.
+     *
+     * @return A browser session that has never been used by another test.
+     */
+    public WebDriver leaseFresh() {
+        acquirePermit();
+        try {
+            WebDriver stale = idle.pollLast();
+            if (stale != null) {
+                destroy(stale);
+            }
+            return startSession(freshFactory);
+        } catch (RuntimeException e) {
+            permits.release();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns a leased session to the pool. Sessions that no longer respond are evicted instead.
+     *
+     * @param driver The session previously obtained from this pool.
+     */
+    public void release(WebDriver driver) {
+        if (!leased.remove(driver)) {
+            return;
+        }
+        if (isHealthy(driver)) {
+            idle.offerFirst(driver);
+        } else {
+            destroy(driver);
+        }
+        permits.release();
+    }
+
+    /**
+     * Quits a leased session and frees its slot, e.g. after the browser crashed or its state can't be trusted.
+     *
+     * @param driver The session previously obtained from this pool.
+     */
+    public void invalidate(WebDriver driver) {
+        if (!leased.remove(driver)) {
+            return;
+        }
+        destroy(driver);
+        permits.release();
+    }
+
+    /**
+     * Removes the idle sessions from the pool without quitting them, so they can outlive it.
+     *
+     * @return The idle sessions, most recently used first.
+     */
+    public List<WebDriver> detachIdle() {
+        List<WebDriver> detached = new ArrayList<>();
+        WebDriver driver;
+        while ((driver = idle.pollFirst()) != null) {
+            sessions.remove(driver);
+            detached.add(driver);
+        }
+        return detached;
+    }
+
+    /**
+     * Quits every session started by this pool, leased or idle.
+     */
+    public void shutdown() {
+        idle.clear();
+        leased.clear();
+        for (WebDriver driver : sessions) {
+            destroy(driver);
+        }
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+
+    public int idleCount() {
+        return idle.size();
+    }
+
+    private void acquirePermit() {
+        try {
+            if (!permits.tryAcquire(leaseTimeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                throw new IllegalStateException("No browser session became available within " + leaseTimeout);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a browser session", e);
+        }
+    }
+
+    private WebDriver startSession(Supplier<WebDriver> factory) {
+        WebDriver driver = factory.get();
+        sessions.add(driver);
+        leased.add(driver);
+        return driver;
+    }
+
+    private boolean isHealthy(WebDriver driver) {
+        try {
+            driver.getWindowHandle();
+            return true;
+        } catch (WebDriverException e) {
+            return false;
+        }
+    }
+
+    private void destroy(WebDriver driver) {
+        sessions.remove(driver);
+        try {
+            driver.quit();
+        } catch (WebDriverException e) {
+            // The session is already gone, nothing left to clean up.
+        }
+    }
+}
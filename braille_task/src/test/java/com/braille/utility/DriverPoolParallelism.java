@@ -0,0 +1,58 @@
+package com.braille.utility;
+
+import org.junit.platform.engine.ConfigurationParameters;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfiguration;
+import org.junit.platform.engine.support.hierarchical.ParallelExecutionConfigurationStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Predicate;
+
+/**
+ * Runs as many JUnit tests at once as {@link Driver} has browser sessions, {@code driver.pool.size} (default 4), so
+ * parallel UI tests neither wait on the pool nor leave sessions unused. Selected in {@code junit-platform.properties}.
+ */
+public class DriverPoolParallelism implements ParallelExecutionConfigurationStrategy {
+
+    @Override
+    public ParallelExecutionConfiguration createConfiguration(ConfigurationParameters configurationParameters) {
+        int parallelism = ConfigurationReader.getIntProperty("driver.pool.size", 4);
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("driver.pool.size must be at least 1, but was: " + parallelism);
+        }
+        return new ParallelExecutionConfiguration() {
+            @Override
+            public int getParallelism() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMinimumRunnable() {
+                return parallelism;
+            }
+
+            @Override
+            public int getMaxPoolSize() {
+                return parallelism + 256;
+            }
+
+            @Override
+            public int getCorePoolSize() {
+                return parallelism;
+            }
+
+            @Override
+            public int getKeepAliveSeconds() {
+                return 30;
+            }
+
+            /**
+             * Never starts extra threads while tests block, e.g. waiting for a session, so at most
+             * {@code parallelism} tests run at once.
+             */
+            @Override
+            public Predicate<? super ForkJoinPool> getSaturatePredicate() {
+                return pool -> true;
+            }
+        };
+    }
+}
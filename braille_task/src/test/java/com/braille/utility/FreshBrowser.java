@@ -0,0 +1,15 @@
+package com.braille.utility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a test that changes browser or application state too much to run in a reused session.
+ * The test gets a newly started browser, which is quit afterwards instead of being returned to the pool.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+public @interface FreshBrowser {
+}
@@ -0,0 +1,193 @@
+package com.braille.utility;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.ScriptTimeoutException;
+import org.openqa.selenium.TimeoutException;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebElement;
+import org.openqa.selenium.support.ui.ExpectedConditions;
+import org.openqa.selenium.support.ui.WebDriverWait;
+
+import java.time.Duration;
+
+/**
+ * Event-driven waits that resolve as soon as the page reaches the expected state, instead of polling.
+ * Each wait is a single asynchronous script: it checks the condition once and, if it doesn't hold yet,
+ * registers a {@code MutationObserver} on the document and calls back on the first DOM change that makes it true.
+ * <p>
+ * CSS selector, XPath and tag name locators are evaluated in the browser. Other locators fall back to a
+ * polling {@link WebDriverWait} with the same timeout.
+ */
+public class MutationWait {
+    private static final String WAIT_SCRIPT =
+            "var kind = arguments[0], selector = arguments[1], condition = arguments[2], previous = arguments[3]," +
+            "    timeout = arguments[4], done = arguments[arguments.length - 1];" +
+            "function find() {" +
+            "  if (kind === 'xpath') {" +
+            "    return document.evaluate(selector, document, null, XPathResult.FIRST_ORDERED_NODE_TYPE, null).singleNodeValue;" +
+            "  }" +
+            "  return document.querySelector(selector);" +
+            "}" +
+            "function check() {" +
+            "  var el = find();" +
+            "  if (!el) { return null; }" +
+            "  if (condition === 'present') { return el; }" +
+            "  if (condition === 'textChanged') { var text = el.innerText.trim(); return text !== previous ? text : null; }" +
+            "  var visible = (el.offsetWidth > 0 || el.offsetHeight > 0 || el.getClientRects().length > 0)" +
+            "      && getComputedStyle(el).visibility !== 'hidden';" +
+            "  return visible ? el : null;" +
+            "}" +
+            "var result = check();" +
+            "if (result !== null) { done(result); return; }" +
+            "var timer;" +
+            "var observer = new MutationObserver(function () {" +
+            "  var value = check();" +
+            "  if (value !== null) { observer.disconnect(); clearTimeout(timer); done(value); }" +
+            "});" +
+            "observer.observe(document.documentElement, {childList: true, subtree: true, attributes: true, characterData: true});" +
+            "timer = setTimeout(function () { observer.disconnect(); done(null); }, timeout);";
+
+    /**
+     * The timeout used by page objects, read from {@code wait.timeoutSeconds}.
+     */
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(ConfigurationReader.getIntProperty("wait.timeoutSeconds", 10));
+
+    private final WebDriver driver;
+    private final Duration timeout;
+
+    public MutationWait(WebDriver driver) {
+        this(driver, DEFAULT_TIMEOUT);
+    }
+
+    public MutationWait(WebDriver driver, Duration timeout) {
+        this.driver = driver;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Waits until an element matching the locator is attached to the DOM.
+     *
+     * @return The matching element.
+     * @throws TimeoutException If no such element appears within the timeout.
+     */
+    public WebElement untilPresent(By locator) {
+        return (WebElement) await(locator, "present", null, timeout);
+    }
+
+    /**
+     * Same as {@link #untilPresent(By)}, but with the wait's timeout learned by {@link AdaptiveTimeouts}.
+     *
+     * @param waitName The name the wait's latency profile is kept under, e.g. {@code HomePage.waitForPageToLoad}.
+     */
+    public WebElement untilPresent(String waitName, By locator) {
+        return (WebElement) timed(waitName, locator, "present", null);
+    }
+
+    /**
+     * Waits until an element matching the locator is attached to the DOM and rendered visibly.
+     *
+     * @return The matching element.
+     * @throws TimeoutException If no such element becomes visible within the timeout.
+     */
+    public WebElement untilVisible(By locator) {
+        return (WebElement) await(locator, "visible", null, timeout);
+    }
+
+    /**
+     * Same as {@link #untilVisible(By)}, but with the wait's timeout learned by {@link AdaptiveTimeouts}.
+     *
+     * @param waitName The name the wait's latency profile is kept under, e.g. {@code WeatherPage.getWEATHER_TABLE}.
+     */
+    public WebElement untilVisible(String waitName, By locator) {
+        return (WebElement) timed(waitName, locator, "visible", null);
+    }
+
+    /**
+     * Waits until the rendered text of the element matching the locator differs from the given text.
+     *
+     * @param previousText The text the element had before the action that is expected to change it.
+     * @return The new text.
+     * @throws TimeoutException If the text does not change within the timeout.
+     */
+    public String untilTextChanges(By locator, String previousText) {
+        return (String) await(locator, "textChanged", previousText, timeout);
+    }
+
+    /**
+     * Same as {@link #untilTextChanges(By, String)}, but with the wait's timeout learned by {@link AdaptiveTimeouts}.
+     *
+     * @param waitName The name the wait's latency profile is kept under, e.g. {@code CounterPage.clickIncrementButton}.
+     */
+    public String untilTextChanges(String waitName, By locator, String previousText) {
+        return (String) timed(waitName, locator, "textChanged", previousText);
+    }
+
+    private Object timed(String waitName, By locator, String condition, String previousText) {
+        Duration adaptiveTimeout = AdaptiveTimeouts.timeoutFor(waitName);
+        long start = System.nanoTime();
+        try {
+            Object result = await(locator, condition, previousText, adaptiveTimeout);
+            AdaptiveTimeouts.record(waitName, (System.nanoTime() - start) / 1_000_000);
+            return result;
+        } catch (TimeoutException e) {
+            AdaptiveTimeouts.recordTimeout(waitName, adaptiveTimeout);
+            throw e;
+        }
+    }
+
+    private Object await(By locator, String condition, String previousText, Duration timeout) {
+        String[] query = toQuery(locator);
+        if (query == null) {
+            return poll(locator, condition, previousText, timeout);
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeAsyncScript(WAIT_SCRIPT,
+                    query[0], query[1], condition, previousText, timeout.toMillis());
+        } catch (ScriptTimeoutException e) {
+            result = null;
+        }
+        if (result == null) {
+            throw new TimeoutException("Timed out after " + timeout.toMillis() + " ms waiting for "
+                    + locator + " to be " + ("textChanged".equals(condition) ? "changed from '" + previousText + "'" : condition));
+        }
+        return result;
+    }
+
+    private Object poll(By locator, String condition, String previousText, Duration timeout) {
+        WebDriverWait wait = new WebDriverWait(driver, timeout);
+        switch (condition) {
+            case "present":
+                return wait.until(ExpectedConditions.presenceOfElementLocated(locator));
+            case "visible":
+                return wait.until(ExpectedConditions.visibilityOfElementLocated(locator));
+            default:
+                return wait.until(d -> {
+                    String text = d.findElement(locator).getText().trim();
+                    return text.equals(previousText) ? null : text;
+                });
+        }
+    }
+
+    /**
+     * Translates a locator into the query the wait script evaluates: {"css"|"xpath", selector},
+     * or {@code null} if it can't be evaluated in the browser.
+     */
+    private static String[] toQuery(By locator) {
+        if (!(locator instanceof By.Remotable)) {
+            return null;
+        }
+        By.Remotable.Parameters parameters = ((By.Remotable) locator).getRemoteParameters();
+        String value = String.valueOf(parameters.value());
+        switch (parameters.using()) {
+            case "css selector":
+            case "tag name":
+                return new String[]{"css", value};
+            case "xpath":
+                return new String[]{"xpath", value};
+            default:
+                return null;
+        }
+    }
+}
@@ -0,0 +1,272 @@
+package com.braille.utility;
+
+import org.openqa.selenium.JavascriptExecutor;
+import org.openqa.selenium.WebDriver;
+import org.openqa.selenium.WebDriverException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Captures how fast pages render, from the browser's own Navigation Timing and Resource Timing data. Page objects call
+ * {@link #markNavigation(WebDriver)} before an in-app navigation and {@link #capture(WebDriver, String)} once the page
+ * is usable, e.g. {@code WeatherPage.WEATHER_TABLE} when the weather table is visible. The metrics, in milliseconds
+ * unless noted, are:
+ * <ul>
+ *     <li>{@code ready}: from the navigation (the click, or the start of a full page load) to the capture.</li>
+ *     <li>{@code ttfb}, {@code domContentLoaded}, {@code load}: from Navigation Timing, for full page loads only.</li>
+ *     <li>{@code resources} (count), {@code transferBytes} (bytes), {@code slowestResource}: the resources fetched
+ *     since the navigation.</li>
+ * </ul>
+ * Each page is captured once per navigation. A capture fails the current test when it exceeds a budget, declared with
+ * {@link PerformanceBudget} or as {@code perf.budget.<page>.<metric>}. Every value is also appended to the trend file
+ * {@code perf.trendFile} (default {@code .perf-trend/page-timings.csv}), and a value more than
+ * {@code perf.regressionFactor} (default 1.5) times the median of the last {@code perf.trend.samples} (default 200)
+ * recorded values (once there are {@code perf.trend.minSamples}, default 10) is reported as a regression, which fails the test too with {@code perf.failOnRegression=true}.
+ * {@code perf.enabled=false} turns the capture off.
+ */
+public class PagePerformance {
+    private static final String MARK_SCRIPT = "window.__brailleNavStart = performance.now();";
+    private static final String CAPTURE_SCRIPT =
+            "var mark = window.__brailleNavStart, now = performance.now();" +
+            "if (mark == null && window.__brailleCaptured) { return null; }" +
+            "window.__brailleNavStart = null; window.__brailleCaptured = true;" +
+            "var from = mark == null ? 0 : mark, out = {ready: now - from};" +
+            "var nav = mark == null && performance.getEntriesByType('navigation')[0];" +
+            "if (nav) {" +
+            "  out.ttfb = nav.responseStart; out.domContentLoaded = nav.domContentLoadedEventEnd;" +
+            "  if (nav.loadEventEnd > 0) { out.load = nav.loadEventEnd; }" +
+            "}" +
+            "var resources = performance.getEntriesByType('resource'), count = 0, bytes = 0, slowest = 0;" +
+            "for (var i = 0; i < resources.length; i++) {" +
+            "  if (resources[i].startTime < from) { continue; }" +
+            "  count++; bytes += resources[i].transferSize || 0; slowest = Math.max(slowest, resources[i].duration);" +
+            "}" +
+            "out.resources = count; out.transferBytes = bytes; out.slowestResource = slowest;" +
+            "return out;";
+
+    private static final boolean ENABLED = ConfigurationReader.getBooleanProperty("perf.enabled", true);
+    private static final Path TREND_FILE = Paths.get(ConfigurationReader.getProperty("perf.trendFile", ".perf-trend/page-timings.csv"));
+    private static final int TREND_SAMPLES = ConfigurationReader.getIntProperty("perf.trend.samples", 200);
+    private static final int MIN_TREND_SAMPLES = ConfigurationReader.getIntProperty("perf.trend.minSamples", 10);
+    private static final double REGRESSION_FACTOR = Double.parseDouble(ConfigurationReader.getProperty("perf.regressionFactor", "1.5"));
+    private static final boolean FAIL_ON_REGRESSION = ConfigurationReader.getBooleanProperty("perf.failOnRegression", false);
+    private static final String RUN = Instant.now().toString();
+    private static final String HEADER = "run,test,page,metric,value";
+
+    private static final Map<String, Double> BASELINES = loadBaselines();
+    private static final ThreadLocal<TestTimings> CURRENT_TEST = new ThreadLocal<>();
+    private static OutputStream trend;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(PagePerformance::closeTrend));
+    }
+
+    private PagePerformance() {
+    }
+
+    /**
+     * Checks the captures made by the current thread against the given budgets, and the configured ones, until
+     * {@link #endTest()}.
+     */
+    public static void startTest(String testName, Collection<PerformanceBudget> budgets) {
+        TestTimings timings = new TestTimings(testName);
+        for (PerformanceBudget budget : budgets) {
+            timings.budgets.put(budget.page() + "." + budget.metric(), budget.max());
+        }
+        CURRENT_TEST.set(timings);
+    }
+
+    /**
+     * @return The budgets the current test exceeded, one message each.
+     */
+    public static List<String> endTest() {
+        TestTimings timings = CURRENT_TEST.get();
+        CURRENT_TEST.remove();
+        return timings != null ? timings.violations : new ArrayList<>();
+    }
+
+    /**
+     * Marks the start of an in-app navigation, which the next capture measures from.
+     */
+    public static void markNavigation(WebDriver driver) {
+        if (ENABLED) {
+            try {
+                ((JavascriptExecutor) driver).executeScript(MARK_SCRIPT);
+            } catch (WebDriverException | ClassCastException e) {
+                System.out.println("Could not mark the navigation: " + e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Captures the page's timings, unless it was already captured since the last navigation.
+     *
+     * @param page The page and the point it is usable at, e.g. {@code WeatherPage.WEATHER_TABLE}.
+     */
+    public static void capture(WebDriver driver, String page) {
+        if (!ENABLED) {
+            return;
+        }
+        Object result;
+        try {
+            result = ((JavascriptExecutor) driver).executeScript(CAPTURE_SCRIPT);
+        } catch (WebDriverException | ClassCastException e) {
+            System.out.println("Could not capture the timings of " + page + ": " + e.getMessage());
+            return;
+        }
+        if (result instanceof Map) {
+            ((Map<?, ?>) result).forEach((metric, value) -> record(page, (String) metric, ((Number) value).doubleValue()));
+        }
+    }
+
+    private static void record(String page, String metric, double value) {
+        String key = page + "." + metric;
+        TestTimings timings = CURRENT_TEST.get();
+        String test = timings != null ? timings.testName : "";
+        appendTrend(String.join(",", RUN, csv(test), csv(page), metric, String.format(Locale.ROOT, "%.1f", value)));
+
+        Double budget = timings != null ? timings.budgets.get(key) : null;
+        if (budget == null) {
+            String configured = ConfigurationReader.getProperty("perf.budget." + key, null);
+            budget = configured != null ? Double.valueOf(configured) : null;
+        }
+        if (budget != null && value > budget) {
+            addViolation(timings, String.format(Locale.ROOT, "%s %s was %.0f, over its budget of %.0f", page, metric, value, budget));
+        }
+        Double baseline = BASELINES.get(key);
+        if (baseline != null && baseline > 0 && value > baseline * REGRESSION_FACTOR) {
+            String message = String.format(Locale.ROOT, "%s %s was %.0f, %.1fx its trend median of %.0f",
+                    page, metric, value, value / baseline, baseline);
+            System.out.println("Page performance regression: " + message);
+            if (FAIL_ON_REGRESSION) {
+                addViolation(timings, message);
+            }
+        }
+    }
+
+    private static void addViolation(TestTimings timings, String message) {
+        if (timings != null) {
+            timings.violations.add(message);
+        } else {
+            System.out.println("Performance budget exceeded outside a test: " + message);
+        }
+    }
+
+    /**
+     * Reads the medians of the most recent values per page and metric from the trend file, streaming it so only the
+     * last {@code perf.trend.samples} values of each are held. Malformed lines, such as one cut short when a JVM was
+     * killed mid-write, are skipped one by one.
+     */
+    private static Map<String, Double> loadBaselines() {
+        Map<String, Deque<Double>> recent = new HashMap<>();
+        if (Files.isRegularFile(TREND_FILE)) {
+            int skipped = 0;
+            try (BufferedReader in = Files.newBufferedReader(TREND_FILE, StandardCharsets.UTF_8)) {
+                String line;
+                while ((line = in.readLine()) != null) {
+                    String[] columns = line.split(",");
+                    if (line.equals(HEADER)) {
+                        continue;
+                    }
+                    double value;
+                    try {
+                        value = columns.length < 5 ? Double.NaN : Double.parseDouble(columns[columns.length - 1]);
+                    } catch (NumberFormatException e) {
+                        value = Double.NaN;
+                    }
+                    if (Double.isNaN(value)) {
+                        skipped++;
+                        continue;
+                    }
+                    int last = columns.length - 1;
+                    Deque<Double> values = recent.computeIfAbsent(columns[last - 2] + "." + columns[last - 1], key -> new ArrayDeque<>());
+                    values.addLast(value);
+                    if (values.size() > TREND_SAMPLES) {
+                        values.removeFirst();
+                    }
+                }
+            } catch (IOException e) {
+                System.out.println("Ignoring unreadable performance trend " + TREND_FILE + ": " + e.getMessage());
+            }
+            if (skipped > 0) {
+                System.out.println("Skipped " + skipped + " malformed line(s) in the performance trend " + TREND_FILE);
+            }
+        }
+        Map<String, Double> medians = new HashMap<>();
+        recent.forEach((key, values) -> {
+            if (values.size() < MIN_TREND_SAMPLES) {
+                return;
+            }
+            double[] sorted = values.stream().mapToDouble(Double::doubleValue).sorted().toArray();
+            medians.put(key, sorted[sorted.length / 2]);
+        });
+        return medians;
+    }
+
+    /**
+     * Appends one line with a single unbuffered write to the file opened for appending, so lines written by shards
+     * sharing the file never interleave and a crash loses at most the line being written.
+     */
+    private static synchronized void appendTrend(String line) {
+        try {
+            if (trend == null) {
+                Path directory = TREND_FILE.toAbsolutePath().getParent();
+                if (directory != null) {
+                    Files.createDirectories(directory);
+                }
+                boolean newFile = !Files.exists(TREND_FILE);
+                trend = Files.newOutputStream(TREND_FILE, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+                if (newFile) {
+                    trend.write((HEADER + "\n").getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            trend.write((line + "\n").getBytes(StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            System.out.println("Could not append to the performance trend " + TREND_FILE + ": " + e.getMessage());
+        }
+    }
+
+    private static synchronized void closeTrend() {
+        try {
+            if (trend != null) {
+                trend.close();
+                trend = null;
+            }
+        } catch (IOException e) {
+            System.out.println("Could not write the performance trend " + TREND_FILE + ": " + e.getMessage());
+        }
+    }
+
+    /**
+     * Keeps names usable as CSV columns; test and page names never need quoting otherwise.
+     */
+    private static String csv(String value) {
+        return value.replace(',', ';').replace('\n', ' ');
+    }
+
+    private static final class TestTimings {
+        final String testName;
+        final Map<String, Double> budgets = new HashMap<>();
+        final List<String> violations = new ArrayList<>();
+
+        TestTimings(String testName) {
+            this.testName = testName;
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package com.braille.utility;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Repeatable;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Fails the test when a page timing captured by {@link PagePerformance} during the test exceeds the given maximum,
+ * e.g. {@code @PerformanceBudget(page = "WeatherPage.WEATHER_TABLE", metric = "ready", max = 2000)}.
+ * Overrides the {@code perf.budget.<page>.<metric>} setting for that test.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.METHOD)
+@Repeatable(PerformanceBudgets.class)
+public @interface PerformanceBudget {
+    /**
+     * The captured page, e.g. {@code HomePage.load}.
+     */
+    String page();
+
+    /**
+     * The metric, e.g. {@code ready}, see {@link PagePerformance}.
+     */
+    String metric();
+
+    /**
+     * The maximum, in milliseconds for timings.
+     */
+    double max();
+}
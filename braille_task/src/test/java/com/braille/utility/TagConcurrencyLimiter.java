@@ -0,0 +1,84 @@
+package com.braille.utility;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Caps how many scenarios carrying the same tag run at once, independent of the total number of scenario threads.
+ * The limit for a tag is read from {@code cucumber.limit.<tag>} (without the {@code @}); tags without a limit don't
+ * restrict anything. For example, UI scenarios can be capped by the number of browsers while API scenarios get
+ * as many slots as the connection pool has connections.
+ * <p>
+ * Permits are always taken in tag name order, so two scenarios with overlapping tags can't deadlock each other.
+ */
+public class TagConcurrencyLimiter {
+    private final Map<String, Integer> defaultLimits;
+    private final Duration timeout;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+
+    /**
+     * @param defaultLimits Limits used for tags that have no {@code cucumber.limit.<tag>} property.
+     * @param timeout       How long a scenario may wait for its permits before it fails.
+     */
+    public TagConcurrencyLimiter(Map<String, Integer> defaultLimits, Duration timeout) {
+        this.defaultLimits = defaultLimits;
+        this.timeout = timeout;
+    }
+
+    /**
+     * Blocks until a slot is free for every limited tag.
+     *
+     * @param tags The scenario's tags, with or without the leading {@code @}.
+     * @return The permits held, to be handed back with {@link #release(List)}.
+     * @throws IllegalStateException If a slot does not free up within the timeout, or the thread is interrupted.
+     */
+    public List<Semaphore> acquire(Collection<String> tags) {
+        List<Semaphore> held = new ArrayList<>();
+        TreeSet<String> ordered = new TreeSet<>();
+        for (String tag : tags) {
+            ordered.add(tag.startsWith("@") ? tag.substring(1) : tag);
+        }
+        try {
+            for (String tag : ordered) {
+                Semaphore semaphore = semaphoreFor(tag);
+                if (semaphore == null) {
+                    continue;
+                }
+                if (!semaphore.tryAcquire(timeout.toMillis(), TimeUnit.MILLISECONDS)) {
+                    throw new IllegalStateException("No free slot for @" + tag + " scenarios within " + timeout);
+                }
+                held.add(semaphore);
+            }
+            return held;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            release(held);
+            throw new IllegalStateException("Interrupted while waiting for a slot for tags " + ordered, e);
+        } catch (RuntimeException e) {
+            release(held);
+            throw e;
+        }
+    }
+
+    public void release(List<Semaphore> held) {
+        for (Semaphore semaphore : held) {
+            semaphore.release();
+        }
+        held.clear();
+    }
+
+    private Semaphore semaphoreFor(String tag) {
+        return permits.computeIfAbsent(tag, key -> {
+            Integer defaultLimit = defaultLimits.get(key);
+            int limit = ConfigurationReader.getIntProperty("cucumber.limit." + key, defaultLimit == null ? 0 : defaultLimit);
+            return limit > 0 ? new Semaphore(limit, true) : null;
+        });
+    }
+}
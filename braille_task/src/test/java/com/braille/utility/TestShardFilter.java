@@ -0,0 +1,196 @@
+package com.braille.utility;
+
+import org.junit.platform.engine.FilterResult;
+import org.junit.platform.engine.TestDescriptor;
+import org.junit.platform.engine.TestSource;
+import org.junit.platform.engine.support.descriptor.MethodSource;
+import org.junit.platform.launcher.PostDiscoveryFilter;
+import org.w3c.dom.Element;
+import org.w3c.dom.NodeList;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Splits the discovered test methods into {@code shard.total} shards of roughly equal expected duration and keeps
+ * only the ones assigned to shard {@code shard.index} (zero-based). Every shard computes the same assignment, so
+ * running each index in its own JVM or on its own machine runs every test exactly once.
+ * <p>
+ * Expected durations come from surefire XML reports of earlier runs found under {@code shard.reports}
+ * (default {@code .shard-history}, searched recursively). That directory is history only: every shard must read the
+ * same copy of it and nothing may write to it while shards run, so {@code run-shards.sh} updates it after all of its
+ * shards have finished, and CI should hand the same copy to every machine. Reports in
+ * {@code surefire-reports-shard-*} directories belong to a run in progress and are never read. Tests are assigned
+ * longest first, each to the shard with the least total duration so far; tests without history count as the median
+ * known duration. Without {@code shard.total} the filter lets everything through.
+ * <p>
+ * Registered through {@code META-INF/services/org.junit.platform.launcher.PostDiscoveryFilter}.
+ */
+public class TestShardFilter implements PostDiscoveryFilter {
+    private static final double DEFAULT_DURATION_SECONDS = 1.0;
+
+    private final int shardIndex = ConfigurationReader.getIntProperty("shard.index", 0);
+    private final int shardTotal = ConfigurationReader.getIntProperty("shard.total", 1);
+    private final Map<String, Set<String>> assignments = new HashMap<>();
+
+    /**
+     * @throws IllegalArgumentException If {@code shard.index} is not between 0 and {@code shard.total} - 1, which
+     *                                  would otherwise run no tests and pass.
+     */
+    public TestShardFilter() {
+        if (shardTotal < 1 || shardIndex < 0 || shardIndex >= shardTotal) {
+            throw new IllegalArgumentException("shard.index must be at least 0 and less than shard.total, but shard.index="
+                    + shardIndex + " and shard.total=" + shardTotal);
+        }
+    }
+
+    @Override
+    public FilterResult apply(TestDescriptor descriptor) {
+        if (shardTotal <= 1 || !descriptor.isTest()) {
+            return FilterResult.included("sharding disabled or not a test");
+        }
+        TestDescriptor root = descriptor;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        Set<String> shard = assignments.computeIfAbsent(root.getUniqueId().toString(), id -> assign(descriptor));
+        return FilterResult.includedIf(shard.contains(testId(descriptor)),
+                () -> "assigned to shard " + shardIndex + " of " + shardTotal,
+                () -> "assigned to another shard");
+    }
+
+    /**
+     * Assigns every test of the descriptor's engine to a shard and returns the ids of the tests in this shard.
+     */
+    private Set<String> assign(TestDescriptor anyTest) {
+        TestDescriptor root = anyTest;
+        while (root.getParent().isPresent()) {
+            root = root.getParent().get();
+        }
+        List<String> tests = new ArrayList<>();
+        collectTests(root, tests);
+
+        Map<String, Double> history = readDurations(Paths.get(ConfigurationReader.getProperty("shard.reports", ".shard-history")));
+        double fallback = median(tests.stream().filter(history::containsKey).map(history::get).collect(Collectors.toList()));
+        Map<String, Double> durations = new HashMap<>();
+        for (String test : tests) {
+            durations.put(test, history.getOrDefault(test, fallback));
+        }
+        tests.sort(Comparator.comparing((String test) -> durations.get(test)).reversed().thenComparing(Comparator.naturalOrder()));
+
+        double[] loads = new double[shardTotal];
+        Set<String> mine = new HashSet<>();
+        double total = 0;
+        for (String test : tests) {
+            int lightest = 0;
+            for (int shard = 1; shard < shardTotal; shard++) {
+                if (loads[shard] < loads[lightest]) {
+                    lightest = shard;
+                }
+            }
+            loads[lightest] += durations.get(test);
+            total += durations.get(test);
+            if (lightest == shardIndex) {
+                mine.add(test);
+            }
+        }
+        System.out.printf("Shard %d of %d: running %d of %d tests, expected %.1f s of %.1f s total%n",
+                shardIndex, shardTotal, mine.size(), tests.size(), loads[shardIndex], total);
+        return mine;
+    }
+
+    private static void collectTests(TestDescriptor descriptor, List<String> tests) {
+        if (descriptor.isTest()) {
+            tests.add(testId(descriptor));
+        }
+        for (TestDescriptor child : descriptor.getChildren()) {
+            collectTests(child, tests);
+        }
+    }
+
+    /**
+     * @return {@code class#method} for test methods, which matches the surefire report entries, or the unique id otherwise.
+     */
+    private static String testId(TestDescriptor descriptor) {
+        TestSource source = descriptor.getSource().orElse(null);
+        if (source instanceof MethodSource) {
+            MethodSource method = (MethodSource) source;
+            return method.getClassName() + "#" + method.getMethodName();
+        }
+        return descriptor.getUniqueId().toString();
+    }
+
+    /**
+     * Reads the duration of every test case from the surefire XML reports below the given directory, except those of
+     * shards still running. When a test appears in several reports, the latest report wins.
+     */
+    static Map<String, Double> readDurations(Path directory) {
+        Map<String, Double> durations = new HashMap<>();
+        if (!Files.isDirectory(directory)) {
+            return durations;
+        }
+        List<Path> reports;
+        try (Stream<Path> files = Files.walk(directory)) {
+            reports = files.filter(file -> {
+                        String name = file.getFileName().toString();
+                        return name.startsWith("TEST-") && name.endsWith(".xml") && !inShardReports(directory.relativize(file));
+                    })
+                    .sorted(Comparator.comparing(TestShardFilter::lastModified))
+                    .collect(Collectors.toList());
+        } catch (IOException e) {
+            return durations;
+        }
+        DocumentBuilderFactory factory = DocumentBuilderFactory.newInstance();
+        for (Path report : reports) {
+            try {
+                NodeList testCases = factory.newDocumentBuilder().parse(report.toFile()).getElementsByTagName("testcase");
+                for (int i = 0; i < testCases.getLength(); i++) {
+                    Element testCase = (Element) testCases.item(i);
+                    String name = testCase.getAttribute("name").replaceAll("\\(.*\\)$", "");
+                    durations.put(testCase.getAttribute("classname") + "#" + name, Double.parseDouble(testCase.getAttribute("time")));
+                }
+            } catch (Exception e) {
+                System.out.println("Skipping unreadable test report " + report + ": " + e.getMessage());
+            }
+        }
+        return durations;
+    }
+
+    private static boolean inShardReports(Path relativePath) {
+        for (Path part : relativePath) {
+            if (part.toString().startsWith("surefire-reports-shard-")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0;
+        }
+    }
+
+    private static double median(List<Double> values) {
+        if (values.isEmpty()) {
+            return DEFAULT_DURATION_SECONDS;
+        }
+        Collections.sort(values);
+        return values.get(values.size() / 2);
+    }
+}
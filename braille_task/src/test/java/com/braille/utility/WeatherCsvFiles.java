@@ -0,0 +1,128 @@
+package com.braille.utility;
+
+import com.braille.api.WeatherForecast;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.util.SplittableRandom;
+
+public class WeatherCsvFiles {
+    public static final String HEADER = "Date,Temp. (C),Temp. (F),Summary";
+
+    private static final String[] SUMMARIES = {
+            "Freezing", "Bracing", "Chilly", "Cool", "Mild", "Warm", "Balmy", "Hot", "Sweltering", "Scorching"};
+    private static final long FIRST_DAY = LocalDate.of(2024, 1, 1).toEpochDay();
+    private static final int DAYS = 36_500;
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int MAX_ROW_BYTES = 64;
+
+    private WeatherCsvFiles() {
+    }
+
+    /**
+     * Creates a test file with the specified name in the temporary directory.
+     * The file contains weather forecast data in CSV format.
+     *
+     * @param fileName The name of the test file to be created.
+     * @return The {@link Path} of the created test file.
+     * @throws RuntimeException If an error occurs while creating the test file.
+     */
+    public static Path createTestFile(String fileName) {
+        try {
+            Path testFilePath = Paths.get(System.getProperty("java.io.tmpdir"), fileName);
+            String content = "Date,Temp. (C),Temp. (F),Summary\n" +
+                    "07/28/2024,25,77,Sunny\n" +
+                    "07/29/2024,30,86,Hot\n" +
+                    "07/30/2024,20,68,Mild\n";
+            Files.write(testFilePath, content.getBytes());
+            return testFilePath;
+        } catch (Exception e) {
+            throw new RuntimeException("Failed to create test file", e);
+        }
+    }
+
+    /**
+     * Streams a CSV with the given number of forecast rows to the temporary directory. Rows are encoded straight
+     * into one reused direct buffer and written through a {@link FileChannel}, so heap use stays constant for files
+     * of any size. The same seed always produces the same file.
+     *
+     * @param fileName The name of the test file to be created.
+     * @param rows     The number of data rows after the header.
+     * @param seed     The seed for temperatures and summaries.
+     * @return The {@link Path} of the created test file.
+     * @throws UncheckedIOException If the file can't be written.
+     */
+    public static Path createLargeTestFile(String fileName, long rows, long seed) {
+        Path testFilePath = Paths.get(System.getProperty("java.io.tmpdir"), fileName);
+        SplittableRandom random = new SplittableRandom(seed);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        try (FileChannel channel = FileChannel.open(testFilePath,
+                StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            buffer.put((HEADER + "\n").getBytes(StandardCharsets.US_ASCII));
+            for (long row = 0; row < rows; row++) {
+                if (buffer.remaining() < MAX_ROW_BYTES) {
+                    drain(channel, buffer);
+                }
+                LocalDate date = LocalDate.ofEpochDay(FIRST_DAY + row % DAYS);
+                int temperatureC = random.nextInt(-20, 56);
+                putTwoDigits(buffer, date.getMonthValue());
+                buffer.put((byte) '/');
+                putTwoDigits(buffer, date.getDayOfMonth());
+                buffer.put((byte) '/');
+                putInt(buffer, date.getYear());
+                buffer.put((byte) ',');
+                putInt(buffer, temperatureC);
+                buffer.put((byte) ',');
+                putInt(buffer, WeatherForecast.toFahrenheit(temperatureC));
+                buffer.put((byte) ',');
+                putAscii(buffer, SUMMARIES[random.nextInt(SUMMARIES.length)]);
+                buffer.put((byte) '\n');
+            }
+            drain(channel, buffer);
+            return testFilePath;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to create test file " + testFilePath, e);
+        }
+    }
+
+    private static void drain(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static void putTwoDigits(ByteBuffer buffer, int value) {
+        buffer.put((byte) ('0' + value / 10));
+        buffer.put((byte) ('0' + value % 10));
+    }
+
+    private static void putInt(ByteBuffer buffer, int value) {
+        if (value < 0) {
+            buffer.put((byte) '-');
+            value = -value;
+        }
+        int divisor = 1;
+        while (divisor <= value / 10) {
+            divisor *= 10;
+        }
+        for (; divisor > 0; divisor /= 10) {
+            buffer.put((byte) ('0' + value / divisor % 10));
+        }
+    }
+
+    private static void putAscii(ByteBuffer buffer, String value) {
+        for (int i = 0; i < value.length(); i++) {
+            buffer.put((byte) value.charAt(i));
+        }
+    }
+}
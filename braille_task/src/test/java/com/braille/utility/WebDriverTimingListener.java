@@ -0,0 +1,65 @@
+package com.braille.utility;
+
+import org.openqa.selenium.By;
+import org.openqa.selenium.support.events.WebDriverListener;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Optional;
+
+/**
+ * Times every call made on a decorated {@link org.openqa.selenium.WebDriver} and the elements, navigation and
+ * options objects it hands out, and reports it to {@link CommandMetrics}. The issuing page-object method is
+ * found by walking the stack to the first frame in {@code com.braille.pages}.
+ */
+public class WebDriverTimingListener implements WebDriverListener {
+    private static final String PAGES_PACKAGE = "com.braille.pages.";
+    private static final String ELEMENT_CACHE = PAGES_PACKAGE + "ElementCache";
+
+    private final ThreadLocal<Deque<Long>> startTimes = ThreadLocal.withInitial(ArrayDeque::new);
+
+    @Override
+    public void beforeAnyCall(Object target, Method method, Object[] args) {
+        startTimes.get().push(System.nanoTime());
+    }
+
+    @Override
+    public void afterAnyCall(Object target, Method method, Object[] args, Object result) {
+        finish(method, args);
+    }
+
+    @Override
+    public void onError(Object target, Method method, Object[] args, InvocationTargetException e) {
+        finish(method, args);
+    }
+
+    private void finish(Method method, Object[] args) {
+        Long start = startTimes.get().poll();
+        if (start == null) {
+            return;
+        }
+        long micros = (System.nanoTime() - start) / 1000;
+        String locator = args != null && args.length > 0 && args[0] instanceof By ? args[0].toString() : null;
+        CommandMetrics.record(method.getName(), pageMethod().orElse(null), locator, micros);
+    }
+
+    private static Optional<String> pageMethod() {
+        return StackWalker.getInstance().walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(PAGES_PACKAGE) && !frame.getClassName().startsWith(ELEMENT_CACHE))
+                .findFirst()
+                .map(frame -> frame.getClassName().substring(PAGES_PACKAGE.length()) + "." + methodName(frame.getMethodName())));
+    }
+
+    /**
+     * Maps a lambda body such as {@code lambda$captureTableRows$0} back to its enclosing method.
+     */
+    private static String methodName(String frameMethod) {
+        if (frameMethod.startsWith("lambda$")) {
+            int end = frameMethod.indexOf('$', "lambda$".length());
+            return frameMethod.substring("lambda$".length(), end > 0 ? end : frameMethod.length());
+        }
+        return frameMethod;
+    }
+}
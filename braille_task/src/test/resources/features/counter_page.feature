@@ -0,0 +1,11 @@
+@UI
+Feature: Counter page
+  As a user I want to increment the counter
+
+  Scenario: User can increment counter count
+    Given the user is on the home page
+    When the user navigates to the counter page
+    Then the counter page header should be "Counter"
+    And the counter should show "Current count: 0"
+    When the user clicks the increment button
+    Then the counter should show "Current count: 1"
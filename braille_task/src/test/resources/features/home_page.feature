@@ -0,0 +1,16 @@
+@UI
+Feature: Home page
+  As a user I want to see the application's home page and navigation
+
+  Background:
+    Given the user is on the home page
+
+  Scenario: User can access all navigation options
+    Then the user should see 3 navigation options
+
+  Scenario: User sees correct home page content
+    Then the home page header should be "Hello, world!"
+    And the welcome text should be displayed
+
+  Scenario: User can access correct About link
+    Then the About link should point to "https://learn.microsoft.com/aspnet/core/"
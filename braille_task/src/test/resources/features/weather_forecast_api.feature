@@ -0,0 +1,28 @@
+@API
+Feature: Weather forecast API
+  As a client I want to read and create weather forecasts
+
+  Scenario: Get all weather forecasts
+    When the client requests all weather forecasts
+    Then the response status should be 200
+    And every weather forecast in the response should be valid
+
+  Scenario Outline: Get a weather forecast by id
+    When the client requests the weather forecast with id <id>
+    Then the response status should be <status>
+
+    Examples:
+      | id  | status |
+      | 1   | 200    |
+      | 999 | 404    |
+
+  Scenario: Get a complete weather forecast by id
+    When the client requests the weather forecast with id 1
+    Then the response status should be 200
+    And the response should contain a complete weather forecast
+
+  Scenario: Create a weather forecast
+    When the client creates a weather forecast for "2024-07-25" with 25 degrees Celsius and summary "Warm"
+    Then the response status should be 201
+    And the response should contain a complete weather forecast
+    And the created weather forecast should match the request
@@ -0,0 +1,28 @@
+@UI
+Feature: Weather page
+  As a user I want to see, refresh, upload and download weather forecasts
+
+  Background:
+    Given the user is on the home page
+    When the user navigates to the weather page
+
+  Scenario: User sees correct weather page elements
+    Then the user should be on the weather page
+    And the weather page should show the description, download button and file input
+
+  Scenario: User sees correct weather forecast table structure
+    Then the weather table should have 5 valid forecast rows
+
+  Scenario: User sees refreshed weather forecast data
+    When the user refreshes the weather page
+    Then the weather forecast data should have changed
+
+  @FreshBrowser
+  Scenario: User can upload weather data file
+    When the user uploads the weather data file "test_weather_data.csv"
+    Then the weather table should show the uploaded rows
+
+  Scenario: User can interact with Download Forecast Data button
+    When the user clicks the Download Forecast Data button
+    Then the downloaded file should match the weather table
+    And the download button should still be usable without errors